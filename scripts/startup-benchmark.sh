@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request: wall-clock time from launching the JVM until
+# the first successful API response. Runs each mode several times and prints
+# min / median / max so results are comparable between builds.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [mode...]
+#   modes: plain (boot jar), cds (extracted jar + AppCDS archive, AOT enabled)
+# Requires a reachable database configured through the usual spring.datasource.*
+# settings (e.g. SPRING_DATASOURCE_URL) and a prior
+#   ./gradlew -PfastStartup bootJar cdsArchive
+set -euo pipefail
+
+RUNS=${1:-5}
+shift || true
+MODES=${*:-plain cds}
+PORT=${BENCHMARK_PORT:-18080}
+URL="http://127.0.0.1:${PORT}/api/board-games/search?keyword=startup-benchmark"
+ROOT_DIR=$(cd "$(dirname "$0")/.." && pwd)
+BOOT_JAR=$(ls "$ROOT_DIR"/build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+FAST_DIR="$ROOT_DIR/build/fast-startup"
+RESULTS="$ROOT_DIR/build/startup-benchmark.csv"
+
+now_ms() {
+    date +%s%3N
+}
+
+run_once() {
+    local mode=$1
+    local start pid elapsed
+    start=$(now_ms)
+    case "$mode" in
+        plain)
+            java -Dserver.port="$PORT" -jar "$BOOT_JAR" >/dev/null 2>&1 &
+            ;;
+        cds)
+            (cd "$FAST_DIR" && exec java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+                -Dserver.port="$PORT" -jar "$(basename "$BOOT_JAR")") >/dev/null 2>&1 &
+            ;;
+        *)
+            echo "Unknown mode: $mode" >&2
+            exit 1
+            ;;
+    esac
+    pid=$!
+    until curl -fs -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited before serving a request ($mode)" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+echo "mode,run,time_to_first_request_ms" > "$RESULTS"
+for mode in $MODES; do
+    samples=()
+    for run in $(seq 1 "$RUNS"); do
+        sample=$(run_once "$mode")
+        samples+=("$sample")
+        echo "$mode,$run,$sample" >> "$RESULTS"
+    done
+    sorted=($(printf '%s\n' "${samples[@]}" | sort -n))
+    echo "$mode: min=${sorted[0]}ms median=${sorted[$(( ${#sorted[@]} / 2 ))]}ms max=${sorted[-1]}ms"
+done
+echo "Raw samples written to $RESULTS"
@@ -0,0 +1,139 @@
+package net.listopad.boardgame.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.ResponseCacheProperties;
+import net.listopad.boardgame.entity.BoardGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing board game responses through the default Jackson converter
+ * versus the cached-bytes converter. Run with the GC profiler (the Gradle
+ * {@code jmh} task does) to compare bytes allocated per response.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardGameResponseBenchmark {
+
+    private static final Type LIST_TYPE = new ParameterizedTypeReference<List<BoardGame>>() { }.getType();
+
+    @Param({"50"})
+    private int listSize;
+
+    private MappingJackson2HttpMessageConverter jackson;
+    private BoardGameJsonHttpMessageConverter cached;
+    private BoardGame game;
+    private List<BoardGame> games;
+    private SinkOutputMessage output;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        cached = new BoardGameJsonHttpMessageConverter(
+            new ResponseBytesCache(objectMapper, new ResponseCacheProperties(), new SimpleMeterRegistry()));
+        games = new ArrayList<>();
+        for (long id = 1; id <= listSize; id++) {
+            games.add(game(id));
+        }
+        game = games.get(0);
+        output = new SinkOutputMessage(blackhole);
+    }
+
+    @Benchmark
+    public void singleJackson() throws IOException {
+        jackson.write(game, BoardGame.class, MediaType.APPLICATION_JSON, output.reset());
+    }
+
+    @Benchmark
+    public void singleCached() throws IOException {
+        cached.write(game, BoardGame.class, MediaType.APPLICATION_JSON, output.reset());
+    }
+
+    @Benchmark
+    public void listJackson() throws IOException {
+        jackson.write(games, LIST_TYPE, MediaType.APPLICATION_JSON, output.reset());
+    }
+
+    @Benchmark
+    public void listCached() throws IOException {
+        cached.write(games, LIST_TYPE, MediaType.APPLICATION_JSON, output.reset());
+    }
+
+    private static BoardGame game(long id) {
+        BoardGame game = new BoardGame("Game " + id, "A long description. ".repeat(100), 2, 5, 60);
+        game.setId(id);
+        game.setVersion(3L);
+        game.setCreatedAt(LocalDateTime.of(2024, 5, 1, 12, 0));
+        game.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 12, 0));
+        return game;
+    }
+
+    // Stands in for the servlet response: reusable headers and a body that only feeds the blackhole
+    private static final class SinkOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final OutputStream body;
+
+        SinkOutputMessage(Blackhole blackhole) {
+            this.body = new OutputStream() {
+                @Override
+                public void write(int b) {
+                    blackhole.consume(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    blackhole.consume(b);
+                    blackhole.consume(len);
+                }
+            };
+        }
+
+        SinkOutputMessage reset() {
+            headers.clear();
+            return this;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
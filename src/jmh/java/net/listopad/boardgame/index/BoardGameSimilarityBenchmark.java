@@ -0,0 +1,78 @@
+package net.listopad.boardgame.index;
+
+import net.listopad.boardgame.entity.BoardGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one similar-games query: a full scan of the index with a top-k heap.
+ * Queries rotate over the catalog so no single vector stays hot in cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardGameSimilarityBenchmark {
+
+    private static final String[] WORDS = {
+        "dice", "cards", "worker", "placement", "deck", "building", "tiles", "cooperative", "war", "trains",
+        "farming", "space", "dungeon", "auction", "bluffing", "puzzle", "racing", "city", "empire", "trading"
+    };
+
+    @Param({"100000"})
+    private int games;
+
+    @Param({"10"})
+    private int limit;
+
+    private BoardGameSimilarityIndex index;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<BoardGame> catalog = new ArrayList<>(games);
+        for (long id = 1; id <= games; id++) {
+            int minPlayers = 1 + random.nextInt(4);
+            BoardGame game = new BoardGame("Game " + id + " " + word(random), description(random),
+                minPlayers, minPlayers + random.nextInt(6), 15 + random.nextInt(240));
+            game.setId(id);
+            catalog.add(game);
+        }
+        index = new BoardGameSimilarityIndex();
+        index.rebuild(catalog);
+    }
+
+    @Benchmark
+    public long[] findSimilar() {
+        next = next % games + 1;
+        return index.findSimilar(next, limit);
+    }
+
+    private static String description(SplittableRandom random) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            description.append(word(random)).append(' ');
+        }
+        return description.toString();
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
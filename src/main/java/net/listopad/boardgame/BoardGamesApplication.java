@@ -2,12 +2,18 @@ package net.listopad.boardgame;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class BoardGamesApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(BoardGamesApplication.class, args);
+		SpringApplication application = new SpringApplication(BoardGamesApplication.class);
+		// Records startup steps for the actuator startup endpoint
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
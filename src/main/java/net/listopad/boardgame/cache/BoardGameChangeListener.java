@@ -0,0 +1,164 @@
+package net.listopad.boardgame.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.NearCacheProperties;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Holds a dedicated connection (outside the Hikari pool) that LISTENs for the
+ * notifications sent by the board_games trigger and republishes them as
+ * {@link BoardGameChangedEvent}s. Every (re)connect publishes a resync event
+ * because notifications sent while disconnected are lost.
+ */
+@Slf4j
+@Component
+public class BoardGameChangeListener implements SmartLifecycle {
+
+    // Must match the channel the trigger in V2__notify_board_game_changes.sql notifies
+    static final String CHANNEL = "board_game_changes";
+
+    private final JdbcConnectionDetails connectionDetails;
+    private final NearCacheProperties properties;
+    private final BoardGameNearCache nearCache;
+    private final SearchResultCache searchResultCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread worker;
+
+    public BoardGameChangeListener(JdbcConnectionDetails connectionDetails, NearCacheProperties properties,
+                                   BoardGameNearCache nearCache, SearchResultCache searchResultCache,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.connectionDetails = connectionDetails;
+        this.properties = properties;
+        this.nearCache = nearCache;
+        this.searchResultCache = searchResultCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::listenLoop, "board-game-change-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeConnection();
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try {
+                PGConnection listening = connectAndListen();
+                while (running) {
+                    PGNotification[] notifications = listening.getNotifications((int) properties.getPollTimeout().toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost board game change notifications connection, caches disabled until reconnect", e);
+                }
+            } finally {
+                nearCache.setSynced(false);
+                searchResultCache.setSynced(false);
+                closeConnection();
+            }
+            backOff();
+        }
+    }
+
+    private PGConnection connectAndListen() throws SQLException {
+        Connection opened = DriverManager.getConnection(
+            connectionDetails.getJdbcUrl(), connectionDetails.getUsername(), connectionDetails.getPassword());
+        connection = opened;
+        try (Statement statement = opened.createStatement()) {
+            statement.execute("LISTEN " + quoteIdentifier(CHANNEL));
+        }
+        nearCache.setSynced(true);
+        searchResultCache.setSynced(true);
+        eventPublisher.publishEvent(BoardGameChangedEvent.resync());
+        log.info("Listening for board game changes on channel '{}'", CHANNEL);
+        return opened.unwrap(PGConnection.class);
+    }
+
+    static String quoteIdentifier(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    void handle(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0) {
+            log.warn("Ignoring malformed board game change notification '{}'", payload);
+            return;
+        }
+        ChangeType type = switch (payload.substring(0, separator)) {
+            case "INSERT" -> ChangeType.CREATED;
+            case "UPDATE" -> ChangeType.UPDATED;
+            case "DELETE" -> ChangeType.DELETED;
+            default -> null;
+        };
+        if (type == null) {
+            log.warn("Ignoring board game change notification with unknown operation '{}'", payload);
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(BoardGameChangedEvent.remote(Long.valueOf(payload.substring(separator + 1)), type));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring board game change notification with invalid id '{}'", payload);
+        }
+    }
+
+    private void backOff() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.getReconnectBackoff().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeConnection() {
+        Connection current = connection;
+        connection = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.debug("Failed to close board game change notifications connection", e);
+            }
+        }
+    }
+}
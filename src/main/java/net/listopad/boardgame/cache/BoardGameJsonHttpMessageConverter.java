@@ -0,0 +1,149 @@
+package net.listopad.boardgame.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import net.listopad.boardgame.entity.BoardGame;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Writes board games and lists of board games from {@link ResponseBytesCache}
+ * instead of running Jackson for every response. Lists are assembled from the
+ * cached bytes of their elements, so they share entries with single-game reads
+ * and need no invalidation of their own. Single games are sent gzipped when the
+ * client accepts it and a compressed copy exists; the gzipped body carries its
+ * own strong ETag, the version tag with {@link #GZIP_ETAG_SUFFIX}, since it is a
+ * different byte sequence. Reading is left to Jackson.
+ */
+public class BoardGameJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private final ResponseBytesCache cache;
+
+    public BoardGameJsonHttpMessageConverter(ResponseBytesCache cache) {
+        super(MediaType.APPLICATION_JSON);
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BoardGame.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && (supports(clazz) || isBoardGameList(type, clazz));
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        HttpServletRequest request = currentRequest();
+        boolean store = request == null || HttpMethod.GET.matches(request.getMethod());
+        if (value instanceof BoardGame game) {
+            EncodedGame encoded = cache.encode(game, store);
+            boolean gzip = encoded.gzip() != null && acceptsGzip(request);
+            byte[] body = gzip ? encoded.gzip() : encoded.json();
+            HttpHeaders headers = outputMessage.getHeaders();
+            if (encoded.gzip() != null) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            if (gzip) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                String eTag = headers.getETag();
+                if (eTag != null && eTag.startsWith("\"") && !eTag.endsWith(GZIP_ETAG_SUFFIX + "\"")) {
+                    headers.setETag(eTag.substring(0, eTag.length() - 1) + GZIP_ETAG_SUFFIX + "\"");
+                }
+            }
+            headers.setContentLength(body.length);
+            outputMessage.getBody().write(body);
+            return;
+        }
+        OutputStream body = outputMessage.getBody();
+        body.write('[');
+        boolean first = true;
+        for (Object element : (Collection<?>) value) {
+            if (!first) {
+                body.write(',');
+            }
+            first = false;
+            body.write(element == null ? NULL : cache.encode((BoardGame) element, store).json());
+        }
+        body.write(']');
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Board games are read by the Jackson converter");
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Board games are read by the Jackson converter");
+    }
+
+    private static boolean isBoardGameList(Type type, Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz)
+            && type instanceof ParameterizedType parameterized
+            && parameterized.getActualTypeArguments().length == 1
+            && parameterized.getActualTypeArguments()[0] == BoardGame.class;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest() : null;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        if (request == null) {
+            return false;
+        }
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            int parameters = coding.indexOf(';');
+            String name = (parameters < 0 ? coding : coding.substring(0, parameters)).trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                return parameters < 0 || !isZeroQuality(coding.substring(parameters + 1));
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String parameters) {
+        String quality = parameters.trim();
+        if (!quality.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(quality.substring(2).trim()) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
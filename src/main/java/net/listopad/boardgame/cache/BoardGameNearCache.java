@@ -0,0 +1,154 @@
+package net.listopad.boardgame.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.listopad.boardgame.config.NearCacheProperties;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Local copy of recently read board games. The cache only serves reads while
+ * the change listener holds a live LISTEN connection; without it other nodes'
+ * writes could go unnoticed, so every lookup falls through to the database.
+ * <p>
+ * Entries are private copies and every hit hands out a fresh copy, so a caller
+ * modifying the game it got back cannot change what other callers see.
+ */
+@Component
+public class BoardGameNearCache {
+
+    private final ConcurrentHashMap<Long, BoardGame> entries = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a load that raced with one is not stored
+    private final AtomicLong invalidations = new AtomicLong();
+    private final NearCacheProperties properties;
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile boolean synced;
+
+    public BoardGameNearCache(NearCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = Counter.builder("board_games.near_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("board_games.near_cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("board_games.near_cache.size", entries, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    public Optional<BoardGame> get(Long id, Supplier<Optional<BoardGame>> loader) {
+        if (!isActive()) {
+            return loader.get();
+        }
+        BoardGame cached = entries.get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(copy(cached));
+        }
+        misses.increment();
+        long stamp = invalidations.get();
+        Optional<BoardGame> loaded = loader.get();
+        loaded.ifPresent(game -> put(id, copy(game), stamp));
+        return loaded;
+    }
+
+    /**
+     * Looks up several games at once. Ids missing from the cache are loaded with
+     * a single call to {@code loader}; games that do not exist are left out of
+     * the result.
+     */
+    public Map<Long, BoardGame> getAll(Collection<Long> ids, Function<Collection<Long>, List<BoardGame>> loader) {
+        Map<Long, BoardGame> found = new HashMap<>(ids.size() * 2);
+        if (!isActive()) {
+            loader.apply(ids).forEach(game -> found.put(game.getId(), game));
+            return found;
+        }
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            BoardGame cached = entries.get(id);
+            if (cached != null) {
+                found.put(id, copy(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+        hits.increment(found.size());
+        if (missing.isEmpty()) {
+            return found;
+        }
+        misses.increment(missing.size());
+        long stamp = invalidations.get();
+        for (BoardGame game : loader.apply(missing)) {
+            found.put(game.getId(), game);
+            put(game.getId(), copy(game), stamp);
+        }
+        return found;
+    }
+
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        entries.remove(id);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    public boolean isActive() {
+        return properties.isEnabled() && synced;
+    }
+
+    /**
+     * Called by the change listener when its LISTEN connection is established
+     * or lost. Both transitions drop everything: while disconnected nothing may
+     * be served, and after reconnecting missed notifications force a resync.
+     */
+    public void setSynced(boolean synced) {
+        invalidateAll();
+        this.synced = synced;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardGameChanged(BoardGameChangedEvent event) {
+        if (event.type() == BoardGameChangedEvent.ChangeType.RESYNC) {
+            invalidateAll();
+        } else {
+            invalidate(event.id());
+        }
+    }
+
+    private void put(Long id, BoardGame game, long stamp) {
+        if (entries.size() >= properties.getMaxEntries()) {
+            Iterator<Long> keys = entries.keySet().iterator();
+            if (keys.hasNext()) {
+                entries.remove(keys.next());
+            }
+        }
+        entries.put(id, game);
+        if (invalidations.get() != stamp) {
+            entries.remove(id, game);
+        }
+    }
+
+    static BoardGame copy(BoardGame game) {
+        return new BoardGame(game.getId(), game.getName(), game.getDescription(), game.getMinPlayers(),
+            game.getMaxPlayers(), game.getPlayTimeMinutes(), game.getCreatedAt(), game.getUpdatedAt(),
+            game.getImageHash(), game.getVersion());
+    }
+}
@@ -0,0 +1,12 @@
+package net.listopad.boardgame.cache;
+
+/**
+ * JSON bytes of one version of a board game, plus a gzip copy when the JSON
+ * is large enough for compression to pay off.
+ */
+public record EncodedGame(long version, byte[] json, byte[] gzip) {
+
+    long size() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
@@ -0,0 +1,114 @@
+package net.listopad.boardgame.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.listopad.boardgame.config.ResponseCacheProperties;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON of recently returned board games. Entries are keyed by id and
+ * only served for the exact version they were encoded from, so a stale entry
+ * can never be returned even if an invalidation is missed; change events just
+ * free the memory early. The least recently used games are evicted once the
+ * encoded bytes exceed the configured size.
+ */
+@Component
+public class ResponseBytesCache {
+
+    private static final long MIN_SEGMENT_BYTES = 1024 * 1024;
+
+    private final SegmentedLruMap<Long, EncodedGame> entries;
+    private final ObjectMapper objectMapper;
+    private final ResponseCacheProperties properties;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseBytesCache(ObjectMapper objectMapper, ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        long maxBytes = properties.getMaxSize().toBytes();
+        // The byte budget is split across segments, so each keeps room for many games
+        int segments = (int) Math.min(SegmentedLruMap.MAX_SEGMENTS,
+            Long.highestOneBit(Math.max(1, maxBytes / MIN_SEGMENT_BYTES)));
+        this.entries = new SegmentedLruMap<>(segments, Integer.MAX_VALUE, maxBytes, EncodedGame::size);
+        this.hits = Counter.builder("board_games.response_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("board_games.response_cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("board_games.response_cache.size", entries, SegmentedLruMap::size).register(meterRegistry);
+        Gauge.builder("board_games.response_cache.estimated_bytes", entries, SegmentedLruMap::weight)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the encoded game, from the cache when the cached version matches.
+     * Freshly encoded games are only stored when {@code store} is set, which
+     * callers use to keep write responses (whose timestamps have not been
+     * through the database yet) out of the cache.
+     */
+    public EncodedGame encode(BoardGame game, boolean store) throws IOException {
+        if (game.getId() == null || game.getVersion() == null) {
+            return encode(game);
+        }
+        long version = game.getVersion();
+        EncodedGame cached = entries.get(game.getId());
+        if (cached != null && cached.version() == version) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        EncodedGame encoded = encode(game);
+        if (store) {
+            // A slow reader holding an older version must not replace a newer entry
+            entries.merge(game.getId(), encoded, (current, fresh) -> current.version() > fresh.version() ? current : fresh);
+        }
+        return encoded;
+    }
+
+    public void invalidate(Long id) {
+        entries.remove(id);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long estimatedBytes() {
+        return entries.weight();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardGameChanged(BoardGameChangedEvent event) {
+        if (event.type() == BoardGameChangedEvent.ChangeType.RESYNC) {
+            invalidateAll();
+        } else {
+            invalidate(event.id());
+        }
+    }
+
+    private EncodedGame encode(BoardGame game) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(game);
+        byte[] gzip = json.length >= properties.getGzipThreshold().toBytes() ? gzip(json) : null;
+        return new EncodedGame(game.getVersion() == null ? -1 : game.getVersion(), json,
+            gzip != null && gzip.length < json.length ? gzip : null);
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        }
+        return compressed.toByteArray();
+    }
+}
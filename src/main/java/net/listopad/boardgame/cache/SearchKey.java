@@ -0,0 +1,29 @@
+package net.listopad.boardgame.cache;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Cache key for a search: the keyword trimmed and case-folded, plus any
+ * further query parameters in a canonical (sorted) form.
+ */
+public record SearchKey(String keyword, String parameters) {
+
+    public static SearchKey of(String keyword) {
+        return of(keyword, Map.of());
+    }
+
+    public static SearchKey of(String keyword, Map<String, ?> parameters) {
+        String normalized = keyword == null ? "" : keyword.trim().toLowerCase(Locale.ROOT);
+        String canonicalParameters = new TreeMap<>(parameters).entrySet().stream()
+            .map(entry -> entry.getKey() + "=" + entry.getValue())
+            .collect(Collectors.joining("&"));
+        return new SearchKey(normalized, canonicalParameters);
+    }
+
+    long estimatedBytes() {
+        return 64 + keyword.length() + parameters.length();
+    }
+}
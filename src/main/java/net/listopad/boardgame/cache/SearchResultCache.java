@@ -0,0 +1,126 @@
+package net.listopad.boardgame.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.listopad.boardgame.config.SearchCacheProperties;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search results, segmented so that concurrent hits do
+ * not contend on a single lock. Entries are tagged with the write
+ * generation they were loaded in; any write bumps the generation, which
+ * invalidates every entry at once without touching them. Stale entries are
+ * dropped lazily on lookup or by LRU eviction.
+ * <p>
+ * Other nodes' writes only arrive through the change listener, so like
+ * {@link BoardGameNearCache} the cache is bypassed unless the listener is
+ * synced. Results are stored as private copies and every hit hands out fresh
+ * copies.
+ */
+@Component
+public class SearchResultCache {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final SegmentedLruMap<SearchKey, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final SearchCacheProperties properties;
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile boolean synced;
+
+    public SearchResultCache(SearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entries = new SegmentedLruMap<>(properties.getMaxEntries(), properties.getMaxSize().toBytes(),
+            Entry::estimatedBytes);
+        this.hits = Counter.builder("board_games.search_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("board_games.search_cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("board_games.search_cache.hit_ratio", this, SearchResultCache::hitRatio).register(meterRegistry);
+        Gauge.builder("board_games.search_cache.size", this, SearchResultCache::size).register(meterRegistry);
+        Gauge.builder("board_games.search_cache.estimated_bytes", this, SearchResultCache::estimatedBytes)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    public List<BoardGame> get(SearchKey key, Supplier<List<BoardGame>> loader) {
+        if (!properties.isEnabled() || !synced) {
+            return loader.get();
+        }
+        long loadGeneration = generation.get();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.generation() == loadGeneration) {
+                hits.increment();
+                return copyAll(entry.results());
+            }
+            entries.remove(key, entry);
+        }
+
+        misses.increment();
+        List<BoardGame> results = List.copyOf(loader.get());
+        // A write that landed while loading may not be reflected in the results
+        if (generation.get() == loadGeneration) {
+            List<BoardGame> stored = copyAll(results);
+            entries.put(key, new Entry(loadGeneration, stored, estimateBytes(key, stored)));
+        }
+        return results;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Called by the change listener when its LISTEN connection is established
+     * or lost. Both transitions invalidate everything, as for the near cache.
+     */
+    public void setSynced(boolean synced) {
+        invalidateAll();
+        this.synced = synced;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardGameChanged(BoardGameChangedEvent event) {
+        invalidateAll();
+    }
+
+    public double hitRatio() {
+        double hitCount = hits.count();
+        double total = hitCount + misses.count();
+        return total == 0 ? 0.0 : hitCount / total;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long estimatedBytes() {
+        return entries.weight();
+    }
+
+    private static List<BoardGame> copyAll(List<BoardGame> games) {
+        return games.stream().map(BoardGameNearCache::copy).toList();
+    }
+
+    // Rough shallow-plus-strings estimate; good enough to bound the cache, not an exact heap measurement
+    private static long estimateBytes(SearchKey key, List<BoardGame> results) {
+        long bytes = ENTRY_OVERHEAD_BYTES + key.estimatedBytes() + 16L + 4L * results.size();
+        for (BoardGame game : results) {
+            bytes += 160;
+            bytes += game.getName() == null ? 0 : 40 + game.getName().length();
+            bytes += game.getDescription() == null ? 0 : 40 + game.getDescription().length();
+        }
+        return bytes;
+    }
+
+    private record Entry(long generation, List<BoardGame> results, long estimatedBytes) {
+    }
+}
@@ -0,0 +1,187 @@
+package net.listopad.boardgame.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded LRU map split into independently locked segments, so concurrent hits
+ * on different keys do not queue on one lock. Each segment is an access-ordered
+ * {@link LinkedHashMap} holding an equal share of the entry and weight budget;
+ * recency is therefore tracked per segment, which approximates a global LRU
+ * closely once each segment holds more than a handful of entries.
+ */
+final class SegmentedLruMap<K, V> {
+
+    static final int MAX_SEGMENTS = 16;
+    // Fewer segments for small caches so per-segment LRU order stays meaningful
+    private static final int MIN_ENTRIES_PER_SEGMENT = 16;
+
+    private final Segment<K, V>[] segments;
+    private final ToLongFunction<V> weigher;
+
+    SegmentedLruMap(int maxEntries, long maxWeight, ToLongFunction<V> weigher) {
+        this(Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxEntries / MIN_ENTRIES_PER_SEGMENT))),
+            maxEntries, maxWeight, weigher);
+    }
+
+    @SuppressWarnings("unchecked")
+    SegmentedLruMap(int segmentCount, int maxEntries, long maxWeight, ToLongFunction<V> weigher) {
+        if (Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("Segment count must be a power of two");
+        }
+        this.weigher = weigher;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Spread the remainder so the segment budgets add up to exactly the configured limits
+            int entries = maxEntries / segmentCount + (i < maxEntries % segmentCount ? 1 : 0);
+            long weight = maxWeight / segmentCount + (i < maxWeight % segmentCount ? 1 : 0);
+            segments[i] = new Segment<>(entries, weight);
+        }
+    }
+
+    V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.entries.get(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            store(segment, key, value);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores {@code value}, or the result of {@code remapping} applied to the
+     * current and the given value if the key is present, atomically with
+     * respect to other calls for the key. Returns the value now stored.
+     */
+    V merge(K key, V value, BinaryOperator<V> remapping) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            V current = segment.entries.get(key);
+            V merged = current == null ? value : remapping.apply(current, value);
+            if (merged != current) {
+                store(segment, key, merged);
+            }
+            return merged;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            V removed = segment.entries.remove(key);
+            if (removed != null) {
+                segment.weight -= weigher.applyAsLong(removed);
+            }
+            return removed;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    boolean remove(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            if (!segment.entries.remove(key, value)) {
+                return false;
+            }
+            segment.weight -= weigher.applyAsLong(value);
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.entries.clear();
+                segment.weight = 0;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    long weight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                weight += segment.weight;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return weight;
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+
+    // Caller holds the segment lock
+    private void store(Segment<K, V> segment, K key, V value) {
+        V previous = segment.entries.put(key, value);
+        if (previous != null) {
+            segment.weight -= weigher.applyAsLong(previous);
+        }
+        segment.weight += weigher.applyAsLong(value);
+        Iterator<V> eldest = segment.entries.values().iterator();
+        while ((segment.entries.size() > segment.maxEntries || segment.weight > segment.maxWeight) && eldest.hasNext()) {
+            segment.weight -= weigher.applyAsLong(eldest.next());
+            eldest.remove();
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static final class Segment<K, V> {
+
+        final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+        final ReentrantLock lock = new ReentrantLock();
+        final int maxEntries;
+        final long maxWeight;
+        long weight;
+
+        Segment(int maxEntries, long maxWeight) {
+            this.maxEntries = maxEntries;
+            this.maxWeight = maxWeight;
+        }
+    }
+}
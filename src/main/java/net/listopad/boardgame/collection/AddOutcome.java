@@ -0,0 +1,7 @@
+package net.listopad.boardgame.collection;
+
+public enum AddOutcome {
+    ADDED,
+    ALREADY_PRESENT,
+    GAME_NOT_FOUND
+}
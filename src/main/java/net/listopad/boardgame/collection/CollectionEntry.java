@@ -0,0 +1,7 @@
+package net.listopad.boardgame.collection;
+
+import net.listopad.boardgame.entity.BoardGame;
+import java.time.LocalDateTime;
+
+public record CollectionEntry(BoardGame game, LocalDateTime addedAt) {
+}
@@ -0,0 +1,8 @@
+package net.listopad.boardgame.collection;
+
+/**
+ * Optional filters for listing a user's collection; null fields are ignored.
+ * {@code players} matches games that support that exact player count.
+ */
+public record CollectionFilter(String keyword, Integer players, Integer maxPlayTimeMinutes, int limit) {
+}
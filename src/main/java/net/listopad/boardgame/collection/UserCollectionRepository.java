@@ -0,0 +1,109 @@
+package net.listopad.boardgame.collection;
+
+import lombok.RequiredArgsConstructor;
+import net.listopad.boardgame.repository.BoardGameRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class UserCollectionRepository {
+
+    private static final RowMapper<CollectionEntry> ROW_MAPPER = new RowMapper<>() {
+        private final BoardGameRowMapper gameMapper = new BoardGameRowMapper("bg_");
+
+        @Override
+        public CollectionEntry mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CollectionEntry(gameMapper.mapRow(rs, rowNum), rs.getTimestamp("added_at").toLocalDateTime());
+        }
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the game with its filterable attributes copied in one statement.
+     * Returns false if the game was already in the collection or does not exist.
+     */
+    public boolean add(long userId, long boardGameId) {
+        return jdbcTemplate.update(
+            "INSERT INTO user_games (user_id, board_game_id, min_players, max_players, play_time_minutes) " +
+            "SELECT :userId, id, min_players, max_players, play_time_minutes FROM board_games WHERE id = :boardGameId " +
+            "ON CONFLICT (user_id, board_game_id) DO NOTHING",
+            new MapSqlParameterSource("userId", userId).addValue("boardGameId", boardGameId)) > 0;
+    }
+
+    public boolean remove(long userId, long boardGameId) {
+        return jdbcTemplate.update(
+            "DELETE FROM user_games WHERE user_id = :userId AND board_game_id = :boardGameId",
+            new MapSqlParameterSource("userId", userId).addValue("boardGameId", boardGameId)) > 0;
+    }
+
+    public boolean contains(long userId, long boardGameId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM user_games WHERE user_id = :userId AND board_game_id = :boardGameId)",
+            new MapSqlParameterSource("userId", userId).addValue("boardGameId", boardGameId), Boolean.class));
+    }
+
+    /**
+     * Filters on the copied columns so the user_games side is an index-only
+     * scan of the user's partition; board_games is only touched by primary key
+     * for the rows that are returned (and for the name when a keyword is given).
+     * The copies are refreshed shortly after a game changes, so filters may
+     * briefly match on the previous player counts or play time.
+     */
+    public List<CollectionEntry> find(long userId, CollectionFilter filter) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT ug.added_at, bg.id AS bg_id, bg.name AS bg_name, bg.description AS bg_description, " +
+            "bg.min_players AS bg_min_players, bg.max_players AS bg_max_players, " +
+            "bg.play_time_minutes AS bg_play_time_minutes, bg.image_hash AS bg_image_hash, bg.created_at AS bg_created_at, " +
+            "bg.updated_at AS bg_updated_at, bg.version AS bg_version " +
+            "FROM user_games ug JOIN board_games bg ON bg.id = ug.board_game_id " +
+            "WHERE ug.user_id = :userId");
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        if (filter.players() != null) {
+            sql.append(" AND ug.min_players <= :players AND ug.max_players >= :players");
+            params.addValue("players", filter.players());
+        }
+        if (filter.maxPlayTimeMinutes() != null) {
+            sql.append(" AND ug.play_time_minutes <= :maxPlayTime");
+            params.addValue("maxPlayTime", filter.maxPlayTimeMinutes());
+        }
+        if (filter.keyword() != null) {
+            sql.append(" AND (LOWER(bg.name) LIKE :pattern OR LOWER(bg.description) LIKE :pattern)");
+            params.addValue("pattern", "%" + filter.keyword() + "%");
+        }
+        sql.append(" ORDER BY ug.added_at DESC, ug.board_game_id LIMIT :limit");
+        params.addValue("limit", filter.limit());
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    /**
+     * Copies the game's current attributes into up to {@code batchSize} of its
+     * collection rows that differ. Runs as its own short statement; returns the
+     * number of rows changed, so callers repeat until it returns zero.
+     */
+    public int syncAttributes(long boardGameId, int batchSize) {
+        return jdbcTemplate.update(
+            "UPDATE user_games ug SET min_players = bg.min_players, max_players = bg.max_players, " +
+            "play_time_minutes = bg.play_time_minutes " +
+            "FROM board_games bg " +
+            "WHERE bg.id = :boardGameId AND ug.board_game_id = bg.id AND (ug.user_id, ug.board_game_id) IN (" +
+            "SELECT stale.user_id, stale.board_game_id FROM user_games stale " +
+            "WHERE stale.board_game_id = :boardGameId AND (stale.min_players IS DISTINCT FROM bg.min_players " +
+            "OR stale.max_players IS DISTINCT FROM bg.max_players " +
+            "OR stale.play_time_minutes IS DISTINCT FROM bg.play_time_minutes) LIMIT :batchSize)",
+            new MapSqlParameterSource("boardGameId", boardGameId).addValue("batchSize", batchSize));
+    }
+
+    public List<Long> findGamesUpdatedSince(LocalDateTime since) {
+        return jdbcTemplate.queryForList("SELECT id FROM board_games WHERE updated_at >= :since",
+            new MapSqlParameterSource("since", Timestamp.valueOf(since)), Long.class);
+    }
+}
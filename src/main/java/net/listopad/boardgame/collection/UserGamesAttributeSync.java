@@ -0,0 +1,132 @@
+package net.listopad.boardgame.collection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.CollectionsProperties;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes the player counts and play time copied into user_games after a
+ * game changes. Rows are updated in small batches on a background thread, so
+ * editing a game owned by many users neither waits for nor locks all of their
+ * collection rows. A periodic pass over recently updated games repairs rows a
+ * dropped job or a restart left behind.
+ */
+@Slf4j
+@Component
+public class UserGamesAttributeSync {
+
+    static final int BATCH_SIZE = 1_000;
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final UserCollectionRepository repository;
+    private final Executor executor;
+    private final Clock clock;
+    private final Duration reconcileWindow;
+    // Games with a job queued but not started; a second change before it runs needs no second job
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Counter syncedRows;
+    private final Counter rejected;
+
+    @Autowired
+    public UserGamesAttributeSync(UserCollectionRepository repository, CollectionsProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this(repository, newExecutor(meterRegistry), Clock.systemDefaultZone(),
+            properties.getReconcileInterval().multipliedBy(2), meterRegistry);
+    }
+
+    UserGamesAttributeSync(UserCollectionRepository repository, Executor executor, Clock clock,
+                           Duration reconcileWindow, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.executor = executor;
+        this.clock = clock;
+        this.reconcileWindow = reconcileWindow;
+        this.syncedRows = Counter.builder("board_games.collections.attribute_sync.rows").register(meterRegistry);
+        this.rejected = Counter.builder("board_games.collections.attribute_sync.rejected").register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardGameChanged(BoardGameChangedEvent event) {
+        // Every node syncs the games it changed itself; the reconcile pass covers any it missed
+        if (event.remote() || event.type() != ChangeType.UPDATED) {
+            return;
+        }
+        schedule(event.id());
+    }
+
+    @Scheduled(fixedDelayString = "${board-games.collections.reconcile-interval:1h}",
+               initialDelayString = "${board-games.collections.reconcile-interval:1h}")
+    public void reconcile() {
+        LocalDateTime since = LocalDateTime.now(clock).minus(reconcileWindow);
+        try {
+            repository.findGamesUpdatedSince(since).forEach(this::schedule);
+        } catch (RuntimeException e) {
+            log.warn("Failed to find recently updated games for collection attribute sync", e);
+        }
+    }
+
+    void schedule(Long boardGameId) {
+        if (!pending.add(boardGameId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                pending.remove(boardGameId);
+                sync(boardGameId);
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(boardGameId);
+            rejected.increment();
+        }
+    }
+
+    void sync(long boardGameId) {
+        try {
+            int changed;
+            do {
+                changed = repository.syncAttributes(boardGameId, BATCH_SIZE);
+                syncedRows.increment(changed);
+            } while (changed == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("Failed to sync collection attributes of board game {}, leaving it to the next reconcile pass",
+                boardGameId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ThreadPoolExecutor newExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "user-games-attribute-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+        Gauge.builder("board_games.collections.attribute_sync.queue.depth", executor, e -> e.getQueue().size())
+            .register(meterRegistry);
+        return executor;
+    }
+}
@@ -0,0 +1,34 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    private double requestsPerSecond = 50;
+
+    private int burst = 100;
+
+    // Clients are keyed by authenticated principal, else remote address (set server.forward-headers-strategy
+    // behind a proxy). Beyond this many, idle buckets are swept and new clients share one overflow bucket
+    private int maxTrackedClients = 100_000;
+
+    private int initialConcurrencyLimit = 64;
+
+    private int minConcurrencyLimit = 8;
+
+    private int maxConcurrencyLimit = 512;
+
+    // How far latency may drift above the observed minimum before the limit shrinks
+    private double latencyTolerance = 2.0;
+
+    // The minimum latency is re-learned periodically so the baseline can follow the database
+    private Duration minLatencyWindow = Duration.ofSeconds(30);
+
+    private Duration overloadRetryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,14 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.collections")
+public class CollectionsProperties {
+
+    // Period of the pass that repairs attribute copies a dropped sync left stale; it rechecks games updated
+    // within twice this interval
+    private Duration reconcileInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,29 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    // Request header through which a client states how long it is willing to wait, e.g. 1500ms or 2s
+    private String header = "X-Request-Timeout";
+
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    // Upper bound for timeouts requested through the header
+    private Duration maxTimeout = Duration.ofSeconds(30);
+
+    // Per-endpoint defaults keyed by Ant-style path pattern; the first match wins. Search scans the
+    // whole table and a vanished client is only noticed once the deadline passes, so it gets a short one
+    private Map<String, Duration> endpoints = new LinkedHashMap<>(Map.of("/api/board-games/search", Duration.ofSeconds(3)));
+
+    // Threads cancelling statements of expired requests; each cancel opens a connection to the server
+    private int cancellerThreads = 4;
+}
@@ -0,0 +1,71 @@
+package net.listopad.boardgame.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Lets replicas take Flyway off the startup critical path: with
+ * {@code board-games.startup.flyway-mode=deferred-validate} nothing touches the
+ * database during startup and the schema is validated in the background once
+ * the application is ready. The result is reported by the flywayValidation
+ * health indicator.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class FlywayStartupConfiguration {
+
+    private volatile Health validationHealth = Health.unknown().withDetail("status", "pending").build();
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(StartupProperties properties) {
+        return flyway -> {
+            if (properties.getFlywayMode() == StartupProperties.FlywayMode.MIGRATE) {
+                flyway.migrate();
+                validationHealth = Health.up().withDetail("status", "migrated").build();
+            }
+        };
+    }
+
+    @Bean
+    public HealthIndicator flywayValidationHealthIndicator() {
+        return () -> validationHealth;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateDeferred(ApplicationReadyEvent event) {
+        StartupProperties properties = event.getApplicationContext().getBean(StartupProperties.class);
+        ObjectProvider<Flyway> flyway = event.getApplicationContext().getBeanProvider(Flyway.class);
+        if (properties.getFlywayMode() != StartupProperties.FlywayMode.DEFERRED_VALIDATE || flyway.getIfAvailable() == null) {
+            return;
+        }
+        Thread validator = new Thread(() -> validate(flyway.getObject()), "flyway-deferred-validation");
+        validator.setDaemon(true);
+        validator.start();
+    }
+
+    private void validate(Flyway flyway) {
+        try {
+            ValidateResult result = flyway.validateWithResult();
+            if (result.validationSuccessful) {
+                validationHealth = Health.up().withDetail("status", "validated").build();
+                log.info("Deferred Flyway validation succeeded");
+            } else {
+                validationHealth = Health.down().withDetail("status", "invalid")
+                    .withDetail("errors", result.getAllErrorMessages()).build();
+                log.error("Deferred Flyway validation failed: {}", result.getAllErrorMessages());
+            }
+        } catch (RuntimeException e) {
+            validationHealth = Health.down(e).withDetail("status", "failed").build();
+            log.error("Deferred Flyway validation could not run", e);
+        }
+    }
+}
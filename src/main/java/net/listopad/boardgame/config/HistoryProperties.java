@@ -0,0 +1,24 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.history")
+public class HistoryProperties {
+
+    private boolean enabled = true;
+
+    private int queueCapacity = 10_000;
+
+    private int batchSize = 500;
+
+    // Longest time a change waits in the queue before it is written
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    // Longest time a committing request waits for room in a full queue before the entry is dropped
+    private Duration enqueueTimeout = Duration.ofMillis(100);
+
+    private Duration retryBackoff = Duration.ofSeconds(1);
+}
@@ -0,0 +1,31 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.images")
+public class ImageProperties {
+
+    private Path path = Path.of("data", "images");
+
+    private DataSize maxSize = DataSize.ofMegabytes(10);
+
+    // Longest edge of a generated thumbnail, in pixels
+    private int thumbnailSize = 256;
+
+    private int thumbnailThreads = 2;
+
+    // Thumbnail jobs beyond this are rejected and retried on the next request for the thumbnail
+    private int thumbnailQueueCapacity = 100;
+
+    // Images are not decoded beyond this many pixels, so a small file cannot expand into gigabytes of heap
+    private long maxPixels = 40_000_000;
+
+    // Unreferenced images younger than this are kept, so an upload whose game update has not committed yet survives a sweep
+    // Trashed images are also kept this long before they are deleted
+    private Duration gcGracePeriod = Duration.ofHours(1);
+}
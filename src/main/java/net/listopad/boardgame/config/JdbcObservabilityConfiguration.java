@@ -0,0 +1,17 @@
+package net.listopad.boardgame.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.listopad.boardgame.jdbc.InstrumentedDataSourcePostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class JdbcObservabilityConfiguration {
+
+    @Bean
+    public static InstrumentedDataSourcePostProcessor instrumentedDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<JdbcObservabilityProperties> properties) {
+        return new InstrumentedDataSourcePostProcessor(meterRegistry, properties);
+    }
+}
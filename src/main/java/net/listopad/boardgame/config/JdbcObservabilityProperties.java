@@ -0,0 +1,29 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.jdbc")
+public class JdbcObservabilityProperties {
+
+    private boolean enabled = true;
+
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    // Distinct statement shapes tracked as separate meters; the rest share the "other" tag
+    private int maxStatementShapes = 500;
+
+    // Fixed latency histogram buckets of every statement shape; a fixed list keeps the series per shape bounded
+    private List<Duration> latencyBuckets = List.of(Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10),
+        Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+        Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5));
+
+    // Distinct SQL texts whose shape and meters are cached; executions of other texts compute the shape each time
+    private int maxCachedStatements = 2_000;
+
+    // Identical statement shapes executed more often than this within one request are reported as likely N+1
+    private int repeatedStatementThreshold = 10;
+}
@@ -0,0 +1,19 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.near-cache")
+public class NearCacheProperties {
+
+    private boolean enabled = true;
+
+    private int maxEntries = 50_000;
+
+    // How long a single wait for notifications blocks before checking for shutdown
+    private Duration pollTimeout = Duration.ofSeconds(1);
+
+    private Duration reconnectBackoff = Duration.ofSeconds(2);
+}
@@ -0,0 +1,38 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.plays")
+public class PlaysProperties {
+
+    public enum AckMode {
+        // Acknowledge once the plays are buffered in memory (202); a crash can lose them
+        BUFFERED,
+        // Acknowledge once the plays are written to Postgres (201), or 202 if that takes longer than flush-timeout
+        FLUSHED
+    }
+
+    private AckMode ackMode = AckMode.BUFFERED;
+
+    // Plays held in memory before new ones are rejected with 503
+    private int bufferCapacity = 100_000;
+
+    private int batchSize = 5_000;
+
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private Duration flushTimeout = Duration.ofSeconds(5);
+
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    // Failed writes of one batch before it is split in halves to isolate plays the database rejects
+    private int maxWriteAttempts = 3;
+
+    // How long shutdown waits for the flusher to finish its current write before draining the buffer
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    private int maxPlaysPerRequest = 1_000;
+}
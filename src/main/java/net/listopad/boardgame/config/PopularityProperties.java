@@ -0,0 +1,21 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.popularity")
+public class PopularityProperties {
+
+    private boolean enabled = true;
+
+    // Also the most view counts a crash can lose
+    private Duration flushInterval = Duration.ofSeconds(10);
+
+    // A view counts half as much towards trending after this long
+    private Duration halfLife = Duration.ofHours(6);
+
+    // Games tracked for trending; the least popular are evicted beyond twice this
+    private int trendingCapacity = 1_000;
+}
@@ -0,0 +1,18 @@
+package net.listopad.boardgame.config;
+
+import net.listopad.boardgame.cache.BoardGameJsonHttpMessageConverter;
+import net.listopad.boardgame.cache.ResponseBytesCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class ResponseCacheConfiguration {
+
+    // Converter beans are put ahead of the default Jackson converter
+    @Bean
+    @ConditionalOnProperty(prefix = "board-games.response-cache", name = "enabled", matchIfMissing = true)
+    public BoardGameJsonHttpMessageConverter boardGameJsonHttpMessageConverter(ResponseBytesCache cache) {
+        return new BoardGameJsonHttpMessageConverter(cache);
+    }
+}
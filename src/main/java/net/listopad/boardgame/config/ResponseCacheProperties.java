@@ -0,0 +1,17 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    // Smaller responses are not worth a gzip copy
+    private DataSize gzipThreshold = DataSize.ofKilobytes(1);
+}
@@ -0,0 +1,16 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.search-cache")
+public class SearchCacheProperties {
+
+    private boolean enabled = true;
+
+    private int maxEntries = 10_000;
+
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+}
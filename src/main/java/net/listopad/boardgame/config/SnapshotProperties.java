@@ -0,0 +1,21 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = true;
+
+    private Path path = Path.of("data", "catalog.snapshot");
+
+    private Duration writeInterval = Duration.ofMinutes(10);
+
+    // Changes are replayed from this long before the watermark, to cover
+    // clock skew between nodes and transactions that committed late
+    private Duration replayOverlap = Duration.ofMinutes(1);
+}
@@ -0,0 +1,18 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.startup")
+public class StartupProperties {
+
+    public enum FlywayMode {
+        // Migrate on the startup critical path (the default, and what the primary should use)
+        MIGRATE,
+        // Skip migration at startup and validate the schema in the background once ready (replicas)
+        DEFERRED_VALIDATE
+    }
+
+    private FlywayMode flywayMode = FlywayMode.MIGRATE;
+}
@@ -0,0 +1,18 @@
+package net.listopad.boardgame.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "board-games.stats")
+public class StatsProperties {
+
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    // Local writes that trigger a refresh before the next scheduled one
+    private int writeThreshold = 100;
+
+    // Lower bound between write-triggered refreshes, so a burst of writes costs one refresh
+    private Duration minRefreshInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,49 @@
+package net.listopad.boardgame.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.listopad.boardgame.filter.AdmissionControlFilter;
+import net.listopad.boardgame.filter.DeadlineFilter;
+import net.listopad.boardgame.filter.QueryCountFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+public class WebFilterConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "board-games.admission", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControlProperties properties,
+                                                                                 MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+            new FilterRegistrationBean<>(new AdmissionControlFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // Shed load before anything else touches the request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "board-games.deadline", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(DeadlineProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        FilterRegistrationBean<DeadlineFilter> registration =
+            new FilterRegistrationBean<>(new DeadlineFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "board-games.jdbc", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(JdbcObservabilityProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+            new FilterRegistrationBean<>(new QueryCountFilter(properties.getRepeatedStatementThreshold(), meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
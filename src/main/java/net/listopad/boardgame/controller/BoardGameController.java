@@ -1,13 +1,19 @@
 package net.listopad.boardgame.controller;
 
+import net.listopad.boardgame.cache.BoardGameJsonHttpMessageConverter;
 import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.exception.PreconditionFailedException;
 import net.listopad.boardgame.service.BoardGameService;
+import net.listopad.boardgame.service.PopularityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/board-games")
@@ -16,6 +22,7 @@ import java.util.List;
 public class BoardGameController {
     
     private final BoardGameService boardGameService;
+    private final PopularityService popularityService;
     
     @GetMapping
     public ResponseEntity<List<BoardGame>> getAllBoardGames() {
@@ -24,9 +31,20 @@ public class BoardGameController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<BoardGame> getBoardGameById(@PathVariable Long id) {
-        return boardGameService.getBoardGameById(id)
-            .map(game -> ResponseEntity.ok(game))
+    public ResponseEntity<BoardGame> getBoardGameById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<BoardGame> game = boardGameService.getBoardGameById(id);
+        game.ifPresent(found -> popularityService.recordView(found.getId()));
+        return game
+            .map(found -> gzipNotModified(found, ifNoneMatch).orElseGet(() -> withETag(found)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<BoardGame>> getSimilarBoardGames(@PathVariable Long id,
+                                                                @RequestParam(defaultValue = "10") int limit) {
+        return boardGameService.findSimilarBoardGames(id, limit)
+            .map(games -> ResponseEntity.ok(games))
             .orElse(ResponseEntity.notFound().build());
     }
     
@@ -37,7 +55,7 @@ public class BoardGameController {
     }
     
     @PostMapping
-    public ResponseEntity<?> createBoardGame(@Valid @RequestBody BoardGame newBoardGame) {
+    public ResponseEntity<?> createBoardGame(@Validated(BoardGame.Create.class) @RequestBody BoardGame newBoardGame) {
         try {
             BoardGame createdGame = boardGameService.createBoardGame(newBoardGame);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdGame);
@@ -47,21 +65,84 @@ public class BoardGameController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateBoardGame(@PathVariable Long id, @Valid @RequestBody BoardGame updateBoardGame) {
+    public ResponseEntity<?> updateBoardGame(@PathVariable Long id, @Valid @RequestBody BoardGame updateBoardGame,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return update(id, updateBoardGame, ifMatch);
+    }
+    
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchBoardGame(@PathVariable Long id, @Valid @RequestBody BoardGame patch,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return update(id, patch, ifMatch);
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBoardGame(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = parseIfMatch(ifMatch);
+        boolean deleted = expectedVersion == null
+            ? boardGameService.deleteBoardGame(id)
+            : boardGameService.deleteBoardGame(id, expectedVersion);
+        if (deleted) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+    
+    private ResponseEntity<?> update(Long id, BoardGame update, String ifMatch) {
+        Long expectedVersion = parseIfMatch(ifMatch);
         try {
-            return boardGameService.updateBoardGame(id, updateBoardGame)
-                .map(updatedGame -> ResponseEntity.ok(updatedGame))
+            Optional<BoardGame> updated = expectedVersion == null
+                ? boardGameService.updateBoardGame(id, update)
+                : boardGameService.updateBoardGame(id, update, expectedVersion);
+            return updated
+                .<ResponseEntity<?>>map(updatedGame -> withETag(updatedGame))
                 .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteBoardGame(@PathVariable Long id) {
-        if (boardGameService.deleteBoardGame(id)) {
-            return ResponseEntity.noContent().build();
+    // Spring answers 304 for the plain version tag itself; the tag of the gzipped body is only known here
+    private static Optional<ResponseEntity<BoardGame>> gzipNotModified(BoardGame game, String ifNoneMatch) {
+        if (ifNoneMatch == null || game.getVersion() == null) {
+            return Optional.empty();
+        }
+        String gzipTag = "\"" + game.getVersion() + BoardGameJsonHttpMessageConverter.GZIP_ETAG_SUFFIX + "\"";
+        if (!ifNoneMatch.contains(gzipTag)) {
+            return Optional.empty();
+        }
+        return Optional.of(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(gzipTag).build());
+    }
+    
+    private static ResponseEntity<BoardGame> withETag(BoardGame game) {
+        if (game.getVersion() == null) {
+            return ResponseEntity.ok(game);
+        }
+        return ResponseEntity.ok().eTag(game.getVersion().toString()).body(game);
+    }
+    
+    // Returns null for a missing header or "*", otherwise the version the client expects
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        // If-Match uses the strong comparison, under which a weak tag never matches
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match requires a strong entity tag");
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        // The gzipped body of a version carries its own tag, but it names the same version
+        if (tag.endsWith(BoardGameJsonHttpMessageConverter.GZIP_ETAG_SUFFIX)) {
+            tag = tag.substring(0, tag.length() - BoardGameJsonHttpMessageConverter.GZIP_ETAG_SUFFIX.length());
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match any version of this board game");
         }
-        return ResponseEntity.notFound().build();
     }
 }
@@ -0,0 +1,23 @@
+package net.listopad.boardgame.controller;
+
+import net.listopad.boardgame.history.BoardGameHistoryPage;
+import net.listopad.boardgame.service.BoardGameHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/board-games/{id}/history")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class BoardGameHistoryController {
+    
+    private final BoardGameHistoryService historyService;
+    
+    @GetMapping
+    public ResponseEntity<BoardGameHistoryPage> getHistory(@PathVariable Long id,
+                                                           @RequestParam(required = false) Long before,
+                                                           @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(historyService.getHistory(id, before, limit));
+    }
+}
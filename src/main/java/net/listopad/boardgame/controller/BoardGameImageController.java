@@ -0,0 +1,53 @@
+package net.listopad.boardgame.controller;
+
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.image.ImageFile;
+import net.listopad.boardgame.image.ImageResponseWriter;
+import net.listopad.boardgame.service.BoardGameImageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/board-games")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class BoardGameImageController {
+    
+    private final BoardGameImageService imageService;
+    private final ImageResponseWriter responseWriter;
+    
+    // The raw body is the image; no multipart parsing or temporary copy
+    @PostMapping(value = "/{id}/image", consumes = "image/*")
+    public ResponseEntity<BoardGame> uploadImage(@PathVariable Long id, HttpServletRequest request) throws IOException {
+        return imageService.uploadImage(id, request.getInputStream())
+            .map(game -> ResponseEntity.created(URI.create("/api/board-games/images/" + game.getImageHash())).body(game))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{id}/image")
+    public void getImage(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean thumbnail,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        write(imageService.findImage(id, thumbnail), request, response);
+    }
+    
+    @GetMapping("/images/{hash}")
+    public void getImageByHash(@PathVariable String hash, @RequestParam(defaultValue = "false") boolean thumbnail,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        write(imageService.findImageByHash(hash, thumbnail), request, response);
+    }
+    
+    private void write(Optional<ImageFile> image, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        if (image.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        responseWriter.write(image.get(), request, response);
+    }
+}
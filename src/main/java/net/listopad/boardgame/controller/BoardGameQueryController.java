@@ -0,0 +1,29 @@
+package net.listopad.boardgame.controller;
+
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.query.BoardGameQuery;
+import net.listopad.boardgame.query.QueryExplanation;
+import net.listopad.boardgame.service.BoardGameQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/board-games/query")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class BoardGameQueryController {
+    
+    private final BoardGameQueryService queryService;
+    
+    @PostMapping
+    public ResponseEntity<List<BoardGame>> query(@RequestBody BoardGameQuery query) {
+        return ResponseEntity.ok(queryService.query(query));
+    }
+    
+    @PostMapping("/explain")
+    public ResponseEntity<QueryExplanation> explain(@RequestBody BoardGameQuery query) {
+        return ResponseEntity.ok(queryService.explain(query));
+    }
+}
@@ -0,0 +1,21 @@
+package net.listopad.boardgame.controller;
+
+import net.listopad.boardgame.service.CatalogStatsService;
+import net.listopad.boardgame.stats.CatalogStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/board-games/stats")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class BoardGameStatsController {
+    
+    private final CatalogStatsService statsService;
+    
+    @GetMapping
+    public ResponseEntity<CatalogStatsResponse> getStats() {
+        return ResponseEntity.ok(statsService.getStats());
+    }
+}
@@ -0,0 +1,33 @@
+package net.listopad.boardgame.controller;
+
+import net.listopad.boardgame.plays.PlayBatch;
+import net.listopad.boardgame.plays.PlayCount;
+import net.listopad.boardgame.plays.PlayIngestResult;
+import net.listopad.boardgame.service.PlayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/board-games/{id}/plays")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class PlayController {
+    
+    private final PlayService playService;
+    
+    @PostMapping
+    public ResponseEntity<PlayIngestResult> recordPlays(@PathVariable Long id, @RequestBody PlayBatch batch) {
+        return playService.recordPlays(id, batch.plays())
+            .map(result -> ResponseEntity.status(result.flushed() ? HttpStatus.CREATED : HttpStatus.ACCEPTED).body(result))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/count")
+    public ResponseEntity<PlayCount> getPlayCount(@PathVariable Long id) {
+        return playService.getPlayCount(id)
+            .map(count -> ResponseEntity.ok(count))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
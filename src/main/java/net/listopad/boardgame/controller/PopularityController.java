@@ -0,0 +1,22 @@
+package net.listopad.boardgame.controller;
+
+import net.listopad.boardgame.popularity.TrendingGame;
+import net.listopad.boardgame.service.PopularityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/board-games/trending")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class PopularityController {
+    
+    private final PopularityService popularityService;
+    
+    @GetMapping
+    public ResponseEntity<List<TrendingGame>> getTrending(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(popularityService.getTrending(limit));
+    }
+}
@@ -0,0 +1,44 @@
+package net.listopad.boardgame.controller;
+
+import net.listopad.boardgame.collection.CollectionEntry;
+import net.listopad.boardgame.service.UserCollectionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/{userId}/collection")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class UserCollectionController {
+    
+    private final UserCollectionService collectionService;
+    
+    @GetMapping
+    public ResponseEntity<List<CollectionEntry>> getCollection(@PathVariable Long userId,
+                                                               @RequestParam(required = false) String keyword,
+                                                               @RequestParam(required = false) Integer players,
+                                                               @RequestParam(required = false) Integer maxPlayTime,
+                                                               @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(collectionService.getCollection(userId, keyword, players, maxPlayTime, limit));
+    }
+    
+    @PutMapping("/{gameId}")
+    public ResponseEntity<Void> addGame(@PathVariable Long userId, @PathVariable Long gameId) {
+        return switch (collectionService.addGame(userId, gameId)) {
+            case ADDED -> ResponseEntity.status(HttpStatus.CREATED).build();
+            case ALREADY_PRESENT -> ResponseEntity.noContent().build();
+            case GAME_NOT_FOUND -> ResponseEntity.notFound().build();
+        };
+    }
+    
+    @DeleteMapping("/{gameId}")
+    public ResponseEntity<Void> removeGame(@PathVariable Long userId, @PathVariable Long gameId) {
+        if (collectionService.removeGame(userId, gameId)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,110 @@
+package net.listopad.boardgame.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.exception.DeadlineExceededException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time budget of one request. Statements executed on its behalf are registered
+ * while they run; once the budget is spent they are cancelled on the server so
+ * the connection goes back to the pool instead of finishing a query whose
+ * result nobody will read. The cancellation timer is only scheduled when the
+ * first statement runs, so requests served from memory cost nothing extra.
+ */
+@Slf4j
+public final class RequestDeadline {
+
+    private final long expiresAtNanos;
+    private final ScheduledExecutorService canceller;
+    private final Counter cancelledStatements;
+    private final Set<Statement> running = new HashSet<>();
+    private ScheduledFuture<?> expiry;
+    private boolean cancelled;
+
+    public RequestDeadline(Duration timeout, ScheduledExecutorService canceller, Counter cancelledStatements) {
+        this.expiresAtNanos = System.nanoTime() + timeout.toNanos();
+        this.canceller = canceller;
+        this.cancelledStatements = cancelledStatements;
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public synchronized boolean isExpired() {
+        return cancelled || remainingNanos() <= 0;
+    }
+
+    public void check(String operation) {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded before " + operation);
+        }
+    }
+
+    /**
+     * Remaining time as a JDBC query timeout, rounded up so the driver never
+     * fires before the deadline does.
+     */
+    public int queryTimeoutSeconds() {
+        long seconds = (Math.max(0, remainingNanos()) + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, seconds));
+    }
+
+    /**
+     * Tracks a statement that is about to execute. Returns false, without
+     * registering it, if the deadline has already passed.
+     */
+    public synchronized boolean register(Statement statement) {
+        if (isExpired()) {
+            return false;
+        }
+        running.add(statement);
+        if (expiry == null) {
+            expiry = canceller.schedule(this::cancel, remainingNanos(), TimeUnit.NANOSECONDS);
+        }
+        return true;
+    }
+
+    public synchronized void unregister(Statement statement) {
+        running.remove(statement);
+    }
+
+    /**
+     * Expires the deadline now and cancels every statement still running for it.
+     * Cancelling opens a connection to the server, so it happens outside the
+     * lock the request thread needs to register and unregister statements.
+     */
+    public void cancel() {
+        List<Statement> statements;
+        synchronized (this) {
+            cancelled = true;
+            statements = new ArrayList<>(running);
+            running.clear();
+        }
+        for (Statement statement : statements) {
+            try {
+                statement.cancel();
+                cancelledStatements.increment();
+            } catch (SQLException e) {
+                log.debug("Could not cancel statement", e);
+            }
+        }
+    }
+
+    public synchronized void close() {
+        if (expiry != null) {
+            expiry.cancel(false);
+        }
+        running.clear();
+    }
+}
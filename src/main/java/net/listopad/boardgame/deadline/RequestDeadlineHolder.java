@@ -0,0 +1,32 @@
+package net.listopad.boardgame.deadline;
+
+/**
+ * Thread-bound deadline of the request being served. Work running outside a
+ * request, such as scheduled flushes, has no deadline.
+ */
+public final class RequestDeadlineHolder {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private RequestDeadlineHolder() {
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    public static void set(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void check(String operation) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.check(operation);
+        }
+    }
+}
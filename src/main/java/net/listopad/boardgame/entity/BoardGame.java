@@ -1,8 +1,12 @@
 package net.listopad.boardgame.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,26 +19,38 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class BoardGame {
     
+    /**
+     * Validation group of a new game. Updates validate the default group only,
+     * whose constraints accept null because an absent field keeps its value.
+     */
+    public interface Create extends Default {
+    }
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @NotBlank(message = "Game name is required")
+    @NotBlank(groups = Create.class, message = "Game name is required")
+    @Pattern(regexp = ".*\\S.*", flags = Pattern.Flag.DOTALL, message = "Game name is required")
     @Size(max = 255, message = "Game name must not exceed 255 characters")
     @Column(nullable = false)
     private String name;
     
-    @NotBlank(message = "Description is required")
+    @NotBlank(groups = Create.class, message = "Description is required")
+    @Pattern(regexp = ".*\\S.*", flags = Pattern.Flag.DOTALL, message = "Description is required")
     @Size(max = 2000, message = "Description must not exceed 2000 characters")
     @Column(nullable = false, length = 2000)
     private String description;
     
+    @Min(value = 1, message = "Minimum players must be at least 1")
     @Column(name = "min_players")
     private Integer minPlayers;
     
+    @Min(value = 1, message = "Maximum players must be at least 1")
     @Column(name = "max_players")
     private Integer maxPlayers;
     
+    @Min(value = 1, message = "Play time must be at least 1 minute")
     @Column(name = "play_time_minutes")
     private Integer playTimeMinutes;
     
@@ -44,6 +60,17 @@ public class BoardGame {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Set through the image endpoints, never through the JSON body
+    @Column(name = "image_hash", length = 64)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String imageHash;
+    
+    // Clients see the version (also sent as the ETag) but cannot set it
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+    
     public BoardGame(String name, String description, Integer minPlayers, Integer maxPlayers, Integer playTimeMinutes) {
         this.name = name;
         this.description = description;
@@ -0,0 +1,36 @@
+package net.listopad.boardgame.event;
+
+import net.listopad.boardgame.entity.BoardGame;
+
+/**
+ * Published after a board game changes, either through this node's service
+ * ({@code remote == false}) or on another node, as reported by Postgres
+ * notifications. Local creates and updates carry the saved game so listeners
+ * do not have to load it again. A {@link ChangeType#RESYNC} event has no id
+ * and means any game may have changed.
+ */
+public record BoardGameChangedEvent(Long id, ChangeType type, boolean remote, BoardGame game) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RESYNC
+    }
+
+    public static BoardGameChangedEvent local(Long id, ChangeType type) {
+        return new BoardGameChangedEvent(id, type, false, null);
+    }
+
+    public static BoardGameChangedEvent local(BoardGame game, ChangeType type) {
+        return new BoardGameChangedEvent(game.getId(), type, false, game);
+    }
+
+    public static BoardGameChangedEvent remote(Long id, ChangeType type) {
+        return new BoardGameChangedEvent(id, type, true, null);
+    }
+
+    public static BoardGameChangedEvent resync() {
+        return new BoardGameChangedEvent(null, ChangeType.RESYNC, true, null);
+    }
+}
@@ -0,0 +1,8 @@
+package net.listopad.boardgame.exception;
+
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
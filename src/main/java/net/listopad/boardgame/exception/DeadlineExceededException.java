@@ -0,0 +1,8 @@
+package net.listopad.boardgame.exception;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package net.listopad.boardgame.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package net.listopad.boardgame.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package net.listopad.boardgame.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
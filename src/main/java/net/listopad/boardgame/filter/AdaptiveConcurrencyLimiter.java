@@ -0,0 +1,109 @@
+package net.listopad.boardgame.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Global in-flight limit that follows the gradient between the best latency
+ * seen recently and the current smoothed latency. When requests start queueing
+ * on the connection pool their latency rises and the limit shrinks, so excess
+ * load is shed at the door instead of timing out inside Hikari.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long minLatencyWindowNanos;
+    private final LongSupplier clock;
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double smoothedLatencyNanos;
+    private long minLatencyNanos = Long.MAX_VALUE;
+    private long minLatencyResetAt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, long minLatencyWindowNanos) {
+        this(initialLimit, minLimit, maxLimit, tolerance, minLatencyWindowNanos, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                               double tolerance, long minLatencyWindowNanos, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit || tolerance < 1.0) {
+            throw new IllegalArgumentException("Invalid concurrency limiter bounds");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.minLatencyWindowNanos = minLatencyWindowNanos;
+        this.clock = clock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.estimatedLimit = this.limit;
+        this.minLatencyResetAt = clock.getAsLong() + minLatencyWindowNanos;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit. Latency samples from failed requests should be passed as
+     * a negative value so that fast failures do not inflate the limit.
+     */
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        if (latencyNanos < 0) {
+            return;
+        }
+        // Samples are dropped rather than queued when another thread is already updating
+        if (!updateLock.tryLock()) {
+            return;
+        }
+        try {
+            update(latencyNanos);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(long latencyNanos) {
+        long now = clock.getAsLong();
+        if (now - minLatencyResetAt >= 0) {
+            minLatencyNanos = Long.MAX_VALUE;
+            minLatencyResetAt = now + minLatencyWindowNanos;
+        }
+        minLatencyNanos = Math.min(minLatencyNanos, Math.max(1, latencyNanos));
+        smoothedLatencyNanos = smoothedLatencyNanos == 0
+            ? latencyNanos
+            : smoothedLatencyNanos + SMOOTHING * (latencyNanos - smoothedLatencyNanos);
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * minLatencyNanos / smoothedLatencyNanos));
+        double queueAllowance = Math.sqrt(estimatedLimit);
+        double target = estimatedLimit * gradient + queueAllowance;
+        estimatedLimit = (1 - SMOOTHING) * estimatedLimit + SMOOTHING * target;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+}
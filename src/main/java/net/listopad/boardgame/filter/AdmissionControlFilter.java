@@ -0,0 +1,87 @@
+package net.listopad.boardgame.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.listopad.boardgame.config.AdmissionControlProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControlProperties properties;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Counter rateLimitedCounter;
+    private final Counter overloadedCounter;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = new TokenBucketRateLimiter(
+            properties.getRequestsPerSecond(), properties.getBurst(), properties.getMaxTrackedClients());
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+            properties.getInitialConcurrencyLimit(), properties.getMinConcurrencyLimit(),
+            properties.getMaxConcurrencyLimit(), properties.getLatencyTolerance(),
+            properties.getMinLatencyWindow().toNanos());
+        this.rateLimitedCounter = Counter.builder("board_games.admission.rejected")
+            .tag("reason", "rate_limit")
+            .register(meterRegistry);
+        this.overloadedCounter = Counter.builder("board_games.admission.rejected")
+            .tag("reason", "overload")
+            .register(meterRegistry);
+        Gauge.builder("board_games.admission.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+            .register(meterRegistry);
+        Gauge.builder("board_games.admission.in_flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .register(meterRegistry);
+        Gauge.builder("board_games.admission.tracked_clients", rateLimiter, TokenBucketRateLimiter::trackedClients)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(resolveClientId(request));
+        if (waitNanos > 0) {
+            rateLimitedCounter.increment();
+            reject(response, waitNanos, "Rate limit exceeded");
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloadedCounter.increment();
+            reject(response, properties.getOverloadRetryAfter().toNanos(), "Service is overloaded");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            filterChain.doFilter(request, response);
+            succeeded = response.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            concurrencyLimiter.release(succeeded ? System.nanoTime() - start : -1);
+        }
+    }
+
+    // Only identities the client cannot choose freely; forwarded addresses are resolved by the container
+    private static String resolveClientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterNanos, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+}
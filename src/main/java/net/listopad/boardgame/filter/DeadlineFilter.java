@@ -0,0 +1,108 @@
+package net.listopad.boardgame.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.DeadlineProperties;
+import net.listopad.boardgame.deadline.RequestDeadline;
+import net.listopad.boardgame.deadline.RequestDeadlineHolder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives every API request a deadline, taken from the timeout header when the
+ * client sends one and from the endpoint default otherwise. Statements run for
+ * the request are cancelled once it passes.
+ * <p>
+ * A client that disconnects is not noticed before the response is written:
+ * blocking servlet I/O reports nothing while the request thread is inside a
+ * query. The deadline is therefore the only bound on work for a vanished
+ * client, which is why endpoints with slow scans get a short default.
+ */
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final DeadlineProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ScheduledThreadPoolExecutor canceller;
+    private final Counter exceeded;
+    private final Counter cancelledStatements;
+
+    public DeadlineFilter(DeadlineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        // Several threads, so one slow cancel request does not hold up the cancellations queued behind it
+        this.canceller = new ScheduledThreadPoolExecutor(properties.getCancellerThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "deadline-canceller-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most requests finish well before their deadline, so drop their timers right away
+        this.canceller.setRemoveOnCancelPolicy(true);
+        this.exceeded = Counter.builder("board_games.deadline.exceeded")
+            .register(meterRegistry);
+        this.cancelledStatements = Counter.builder("board_games.deadline.cancelled_statements")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestDeadline deadline = new RequestDeadline(timeoutFor(request), canceller, cancelledStatements);
+        RequestDeadlineHolder.set(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadlineHolder.clear();
+            deadline.close();
+            if (deadline.isExpired()) {
+                exceeded.increment();
+                log.debug("{} {} exceeded its deadline", request.getMethod(), request.getRequestURI());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        canceller.shutdownNow();
+    }
+
+    Duration timeoutFor(HttpServletRequest request) {
+        Duration endpointTimeout = endpointTimeout(request.getRequestURI().substring(request.getContextPath().length()));
+        String requested = request.getHeader(properties.getHeader());
+        if (!StringUtils.hasText(requested)) {
+            return endpointTimeout;
+        }
+        try {
+            Duration timeout = DurationStyle.detectAndParse(requested.trim(), ChronoUnit.MILLIS);
+            if (timeout.isNegative() || timeout.isZero()) {
+                return endpointTimeout;
+            }
+            return timeout.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : timeout;
+        } catch (IllegalArgumentException e) {
+            // A malformed header should not fail the request; fall back to the endpoint default
+            return endpointTimeout;
+        }
+    }
+
+    private Duration endpointTimeout(String path) {
+        for (Map.Entry<String, Duration> endpoint : properties.getEndpoints().entrySet()) {
+            if (pathMatcher.match(endpoint.getKey(), path)) {
+                return endpoint.getValue();
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+}
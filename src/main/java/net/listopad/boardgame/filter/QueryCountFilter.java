@@ -0,0 +1,53 @@
+package net.listopad.boardgame.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.jdbc.QueryCount;
+import net.listopad.boardgame.jdbc.QueryCountHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+
+/**
+ * Counts the statements each API request executes and flags requests that run
+ * the same statement shape many times, the usual signature of an N+1 pattern.
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final int repeatedStatementThreshold;
+    private final DistributionSummary queriesPerRequest;
+    private final Counter nPlusOneSuspects;
+
+    public QueryCountFilter(int repeatedStatementThreshold, MeterRegistry meterRegistry) {
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.queriesPerRequest = DistributionSummary.builder("board_games.jdbc.statements_per_request")
+            .register(meterRegistry);
+        this.nPlusOneSuspects = Counter.builder("board_games.jdbc.n_plus_one_suspects")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCount count = QueryCountHolder.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountHolder.stop(count);
+            queriesPerRequest.record(count.getTotal());
+            count.getShapes().forEach((shape, executions) -> {
+                if (executions > repeatedStatementThreshold) {
+                    nPlusOneSuspects.increment();
+                    log.warn("Possible N+1: {} {} executed the same statement {} times: {}",
+                        request.getMethod(), request.getRequestURI(), executions, shape);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package net.listopad.boardgame.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets implemented as GCRA: each bucket is a single
+ * "theoretical arrival time" updated with CAS, so admission never takes a lock.
+ * <p>
+ * The number of tracked clients is capped. Idle buckets are swept at most once
+ * per sweep interval, never on every request; while the table is full of
+ * active clients, newcomers share a single overflow bucket, so a flood of new
+ * client ids can neither grow the table nor escape the limit.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxTrackedClients;
+    private final long sweepIntervalNanos;
+    private final LongSupplier clock;
+    private final AtomicLong overflowBucket;
+    private final AtomicLong nextSweep;
+
+    public TokenBucketRateLimiter(double requestsPerSecond, int burst, int maxTrackedClients) {
+        this(requestsPerSecond, burst, maxTrackedClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double requestsPerSecond, int burst, int maxTrackedClients, LongSupplier clock) {
+        this(requestsPerSecond, burst, maxTrackedClients, TimeUnit.SECONDS.toNanos(1), clock);
+    }
+
+    TokenBucketRateLimiter(double requestsPerSecond, int burst, int maxTrackedClients, long sweepIntervalNanos,
+                           LongSupplier clock) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit must be positive and burst at least 1");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.maxTrackedClients = maxTrackedClients;
+        this.sweepIntervalNanos = sweepIntervalNanos;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.overflowBucket = new AtomicLong(now);
+        this.nextSweep = new AtomicLong(now);
+    }
+
+    /**
+     * Returns 0 if the request is admitted, otherwise the number of nanoseconds
+     * the client should wait before a token becomes available.
+     */
+    public long tryAcquire(String clientId) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(clientId);
+        if (bucket == null) {
+            bucket = track(clientId, now);
+        }
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long waitNanos = newTat - now - burstToleranceNanos - emissionIntervalNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+
+    private AtomicLong track(String clientId, long now) {
+        if (buckets.size() >= maxTrackedClients) {
+            sweepIfDue(now);
+            if (buckets.size() >= maxTrackedClients) {
+                return overflowBucket;
+            }
+        }
+        return buckets.computeIfAbsent(clientId, key -> new AtomicLong(now));
+    }
+
+    // A bucket whose arrival time has passed is full again, so dropping it loses nothing
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            buckets.values().removeIf(bucket -> bucket.get() <= now);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package net.listopad.boardgame.history;
+
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+import java.time.LocalDateTime;
+
+/**
+ * One row of board_game_history. {@code id} is null until the entry is written.
+ */
+public record BoardGameHistoryEntry(
+    Long id,
+    Long boardGameId,
+    ChangeType operation,
+    String name,
+    String description,
+    Integer minPlayers,
+    Integer maxPlayers,
+    Integer playTimeMinutes,
+    LocalDateTime changedAt
+) {
+
+    // Copies the values now; the entity may be modified again before the entry is flushed
+    public static BoardGameHistoryEntry of(Long boardGameId, ChangeType operation, BoardGame game, LocalDateTime changedAt) {
+        if (game == null) {
+            return new BoardGameHistoryEntry(null, boardGameId, operation, null, null, null, null, null, changedAt);
+        }
+        return new BoardGameHistoryEntry(null, boardGameId, operation, game.getName(), game.getDescription(),
+            game.getMinPlayers(), game.getMaxPlayers(), game.getPlayTimeMinutes(), changedAt);
+    }
+}
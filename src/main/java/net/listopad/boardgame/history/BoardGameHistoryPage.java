@@ -0,0 +1,10 @@
+package net.listopad.boardgame.history;
+
+import java.util.List;
+
+/**
+ * A page of history, newest first. Pass {@code nextCursor} as {@code before}
+ * to fetch the next page; it is null on the last page.
+ */
+public record BoardGameHistoryPage(List<BoardGameHistoryEntry> entries, Long nextCursor) {
+}
@@ -0,0 +1,220 @@
+package net.listopad.boardgame.history;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.HistoryProperties;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes board game history off the request path. Committed changes are
+ * queued in memory and a background thread writes them in JDBC batches. When
+ * the queue is full the committing request waits briefly for the flusher to
+ * make room and then drops the entry, counting it; it never writes itself,
+ * since its transaction has already committed and a failure there would turn
+ * a successful change into an error. Stopping the application drains the queue.
+ */
+@Slf4j
+@Component
+public class BoardGameHistoryRecorder implements SmartLifecycle {
+
+    private final BoardGameHistoryRepository historyRepository;
+    private final HistoryProperties properties;
+    private final BlockingQueue<BoardGameHistoryEntry> queue;
+    private final Counter writtenCounter;
+    private final Counter failedFlushCounter;
+    private final Counter backpressureCounter;
+    private final Counter droppedCounter;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public BoardGameHistoryRecorder(BoardGameHistoryRepository historyRepository, HistoryProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.historyRepository = historyRepository;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.writtenCounter = Counter.builder("board_games.history.written").register(meterRegistry);
+        this.failedFlushCounter = Counter.builder("board_games.history.flush.failures").register(meterRegistry);
+        this.backpressureCounter = Counter.builder("board_games.history.backpressure").register(meterRegistry);
+        this.droppedCounter = Counter.builder("board_games.history.dropped").register(meterRegistry);
+        this.flushTimer = Timer.builder("board_games.history.flush").register(meterRegistry);
+        Gauge.builder("board_games.history.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardGameChanged(BoardGameChangedEvent event) {
+        // Remote changes are recorded by the node that made them
+        if (!properties.isEnabled() || event.remote() || event.type() == ChangeType.RESYNC) {
+            return;
+        }
+        record(BoardGameHistoryEntry.of(event.id(), event.type(), event.game(), LocalDateTime.now()));
+    }
+
+    public void record(BoardGameHistoryEntry entry) {
+        if (queue.offer(entry)) {
+            return;
+        }
+        backpressureCounter.increment();
+        try {
+            if (queue.offer(entry, properties.getEnqueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedCounter.increment();
+        log.warn("History queue is full, dropped {} of board game {}", entry.operation(), entry.boardGameId());
+    }
+
+    /**
+     * Writes up to one batch from the queue. Returns the number of entries written.
+     */
+    public int flushBatch() {
+        List<BoardGameHistoryEntry> batch = new ArrayList<>(properties.getBatchSize());
+        queue.drainTo(batch, properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            requeue(batch);
+            throw e;
+        }
+        return batch.size();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 3 * * *")
+    public void createUpcomingPartitions() {
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        for (LocalDate month : List.of(thisMonth, thisMonth.plusMonths(1))) {
+            int moved = historyRepository.createMonthlyPartition(month);
+            if (moved > 0) {
+                log.warn("Moved {} history rows for {} out of the default partition; partition maintenance fell behind",
+                    moved, month);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "board-game-history-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = queue.size();
+        try {
+            while (flushBatch() > 0) {
+                // drain everything that is still queued
+            }
+            log.info("Flushed {} queued history entries on shutdown", remaining);
+        } catch (RuntimeException e) {
+            log.error("Lost {} history entries on shutdown", queue.size(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server so no new changes arrive while draining
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushLoop() {
+        List<BoardGameHistoryEntry> batch = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    BoardGameHistoryEntry first = queue.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getBatchSize() - 1);
+                }
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                // Keep the batch and try again; the queue absorbs new changes meanwhile
+                log.warn("Failed to write {} history entries, retrying", batch.size(), e);
+                sleepQuietly(properties.getRetryBackoff().toMillis());
+            }
+        }
+        // Hand an unwritten batch back so the shutdown drain picks it up
+        requeue(batch);
+    }
+
+    private void requeue(List<BoardGameHistoryEntry> batch) {
+        int lost = 0;
+        for (BoardGameHistoryEntry entry : batch) {
+            if (!queue.offer(entry)) {
+                lost++;
+            }
+        }
+        if (lost > 0) {
+            log.error("History queue is full, dropped {} entries", lost);
+        }
+    }
+
+    private void write(List<BoardGameHistoryEntry> batch) {
+        try {
+            flushTimer.record(() -> historyRepository.insertBatch(batch));
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            failedFlushCounter.increment();
+            throw e;
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
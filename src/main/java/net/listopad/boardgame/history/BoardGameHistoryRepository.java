@@ -0,0 +1,68 @@
+package net.listopad.boardgame.history;
+
+import lombok.RequiredArgsConstructor;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class BoardGameHistoryRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO board_game_history (board_game_id, operation, name, description, min_players, max_players, " +
+        "play_time_minutes, changed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<BoardGameHistoryEntry> ROW_MAPPER = (rs, rowNum) -> new BoardGameHistoryEntry(
+        rs.getLong("id"),
+        rs.getLong("board_game_id"),
+        ChangeType.valueOf(rs.getString("operation")),
+        rs.getString("name"),
+        rs.getString("description"),
+        rs.getObject("min_players", Integer.class),
+        rs.getObject("max_players", Integer.class),
+        rs.getObject("play_time_minutes", Integer.class),
+        rs.getTimestamp("changed_at").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertBatch(List<BoardGameHistoryEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.boardGameId());
+            ps.setString(2, entry.operation().name());
+            ps.setString(3, entry.name());
+            ps.setString(4, entry.description());
+            ps.setObject(5, entry.minPlayers(), Types.INTEGER);
+            ps.setObject(6, entry.maxPlayers(), Types.INTEGER);
+            ps.setObject(7, entry.playTimeMinutes(), Types.INTEGER);
+            ps.setTimestamp(8, Timestamp.valueOf(entry.changedAt()));
+        });
+    }
+
+    public List<BoardGameHistoryEntry> findByBoardGameId(Long boardGameId, Long beforeId, int limit) {
+        if (beforeId == null) {
+            return jdbcTemplate.query(
+                "SELECT * FROM board_game_history WHERE board_game_id = ? ORDER BY id DESC LIMIT ?",
+                ROW_MAPPER, boardGameId, limit);
+        }
+        return jdbcTemplate.query(
+            "SELECT * FROM board_game_history WHERE board_game_id = ? AND id < ? ORDER BY id DESC LIMIT ?",
+            ROW_MAPPER, boardGameId, beforeId, limit);
+    }
+
+    /**
+     * Creates the partition for the given month if it does not exist yet and
+     * returns how many rows were moved into it from the default partition.
+     */
+    public int createMonthlyPartition(LocalDate month) {
+        Integer moved = jdbcTemplate.queryForObject("SELECT create_board_game_history_partition(?)", Integer.class, Date.valueOf(month));
+        return moved == null ? 0 : moved;
+    }
+}
@@ -0,0 +1,274 @@
+package net.listopad.boardgame.image;
+
+import net.listopad.boardgame.config.ImageProperties;
+import net.listopad.boardgame.exception.PayloadTooLargeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Stores images on the local file system under the SHA-256 of their bytes:
+ * {@code <root>/ab/cd/abcd...}. Identical uploads share one file and a stored
+ * file never changes, which is what makes it safe to cache forever.
+ */
+@Component
+public class ContentAddressedImageStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TRASH = "trash";
+
+    private final Path root;
+    private final long maxBytes;
+
+    public ContentAddressedImageStore(ImageProperties properties) {
+        this.root = properties.getPath().toAbsolutePath();
+        this.maxBytes = properties.getMaxSize().toBytes();
+    }
+
+    /**
+     * Streams an upload to disk while hashing it, then moves it to its
+     * content address. Returns the hash.
+     *
+     * @throws IllegalArgumentException if the content is not a supported image
+     * @throws PayloadTooLargeException if the upload exceeds the configured size
+     */
+    public String store(InputStream content) throws IOException {
+        Path incoming = root.resolve("incoming");
+        Files.createDirectories(incoming);
+        Path temp = Files.createTempFile(incoming, "upload", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            byte[] header = new byte[12];
+            int headerLength = 0;
+            long total = 0;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxBytes) {
+                        throw new PayloadTooLargeException("Image exceeds the maximum size of " + maxBytes + " bytes");
+                    }
+                    if (headerLength < header.length) {
+                        int copy = Math.min(read, header.length - headerLength);
+                        System.arraycopy(buffer, 0, header, headerLength, copy);
+                        headerLength += copy;
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (detectMediaType(header, headerLength) == null) {
+                throw new IllegalArgumentException("Image must be a JPEG, PNG, GIF or WebP file");
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(hash);
+            if (Files.exists(target)) {
+                // Restarts the garbage collection grace period for content that is about to be referenced again
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                return hash;
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content uploaded before
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Optional<Path> find(String hash) {
+        if (!isValidHash(hash)) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public Path thumbnailPath(String hash) {
+        if (!isValidHash(hash)) {
+            throw new IllegalArgumentException("Invalid image hash");
+        }
+        return root.resolve("thumbnails").resolve(hash.substring(0, 2)).resolve(hash + ".jpg");
+    }
+
+    /**
+     * Hashes of the stored originals last modified before {@code cutoff}. The
+     * stream walks the file system lazily and must be closed.
+     */
+    public Stream<String> hashesModifiedBefore(Instant cutoff) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        return Files.walk(root, 3)
+            .filter(path -> isValidHash(path.getFileName().toString()))
+            .filter(path -> path.equals(pathFor(path.getFileName().toString())))
+            .filter(path -> modifiedBefore(path, cutoff))
+            .map(path -> path.getFileName().toString());
+    }
+
+    /**
+     * Moves an original to the trash, and deletes its thumbnail, unless the
+     * original was touched by an upload since {@code cutoff}. A trashed image
+     * can still be brought back with {@link #restore}; it is only gone once
+     * {@link #purge}d. {@code now} is recorded as the time it was trashed.
+     * Returns true if the original was moved.
+     */
+    public boolean trashIfModifiedBefore(String hash, Instant cutoff, Instant now) throws IOException {
+        Path path = pathFor(hash);
+        if (!modifiedBefore(path, cutoff)) {
+            return false;
+        }
+        Files.deleteIfExists(thumbnailPath(hash));
+        Path trashed = trashPath(hash);
+        Files.createDirectories(trashed.getParent());
+        try {
+            Files.move(path, trashed, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        // Starts the time the image stays restorable
+        Files.setLastModifiedTime(trashed, FileTime.from(now));
+        return true;
+    }
+
+    /**
+     * Hashes of the images moved to the trash before {@code cutoff}. The
+     * stream walks the file system lazily and must be closed.
+     */
+    public Stream<String> trashedBefore(Instant cutoff) throws IOException {
+        Path trash = root.resolve(TRASH);
+        if (!Files.isDirectory(trash)) {
+            return Stream.empty();
+        }
+        return Files.walk(trash, 2)
+            .filter(path -> isValidHash(path.getFileName().toString()))
+            .filter(path -> modifiedBefore(path, cutoff))
+            .map(path -> path.getFileName().toString());
+    }
+
+    /**
+     * Moves a trashed image back to its content address. Returns the original,
+     * or empty if it is neither stored nor in the trash.
+     */
+    public Optional<Path> restore(String hash) throws IOException {
+        if (!isValidHash(hash)) {
+            return Optional.empty();
+        }
+        Path trashed = trashPath(hash);
+        Path target = pathFor(hash);
+        if (Files.exists(trashed)) {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(trashed, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Uploaded again meanwhile
+                Files.deleteIfExists(trashed);
+            } catch (NoSuchFileException e) {
+                // Restored concurrently
+            }
+        }
+        return find(hash);
+    }
+
+    /**
+     * Deletes a trashed image for good. Returns true if it was deleted.
+     */
+    public boolean purge(String hash) throws IOException {
+        return Files.deleteIfExists(trashPath(hash));
+    }
+
+    /**
+     * Deletes upload temp files left behind by a crash. Returns the number
+     * deleted.
+     */
+    public int deleteStaleUploads(Instant cutoff) throws IOException {
+        Path incoming = root.resolve("incoming");
+        if (!Files.isDirectory(incoming)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (Stream<Path> uploads = Files.list(incoming)) {
+            for (Path upload : (Iterable<Path>) uploads::iterator) {
+                if (modifiedBefore(upload, cutoff) && Files.deleteIfExists(upload)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    public MediaType mediaTypeOf(Path path) throws IOException {
+        byte[] header = new byte[12];
+        int length;
+        try (InputStream in = Files.newInputStream(path)) {
+            length = in.readNBytes(header, 0, header.length);
+        }
+        MediaType mediaType = detectMediaType(header, length);
+        return mediaType == null ? MediaType.APPLICATION_OCTET_STREAM : mediaType;
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH.matcher(hash).matches();
+    }
+
+    static MediaType detectMediaType(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return MediaType.IMAGE_PNG;
+        }
+        if (length >= 4 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return MediaType.IMAGE_GIF;
+        }
+        if (length >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+            && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return null;
+    }
+
+    private static boolean modifiedBefore(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path trashPath(String hash) {
+        return root.resolve(TRASH).resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package net.listopad.boardgame.image;
+
+import org.springframework.http.MediaType;
+import java.nio.file.Path;
+
+/**
+ * A stored image (or thumbnail) ready to be sent. {@code immutable} is false
+ * when a thumbnail was asked for but the original is served in its place.
+ */
+public record ImageFile(Path path, MediaType mediaType, String eTag, boolean immutable) {
+}
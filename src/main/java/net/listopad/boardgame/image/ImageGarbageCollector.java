@@ -0,0 +1,132 @@
+package net.listopad.boardgame.image;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.ImageProperties;
+import net.listopad.boardgame.repository.BoardGameRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Deletes stored images no game points at: uploads whose game update failed
+ * and art that was replaced. Images are shared by content, so a file is only
+ * removed after the database confirms no game references its hash, and only
+ * once it has been untouched for the grace period, which covers an upload
+ * stored but not yet committed to its game.
+ * <p>
+ * An upload of the same content can still land between the reference check
+ * and the delete, since it only touches the existing file before pointing its
+ * game at the hash. Deletion therefore takes two sweeps: an unreferenced image
+ * is first moved to the trash, and only purged by a later sweep, after the
+ * grace period, if the database still confirms nothing references it.
+ * Trashed images that are referenced again are restored, and the upload and
+ * download paths restore them on their own, so a game never loses its image.
+ */
+@Slf4j
+@Component
+public class ImageGarbageCollector {
+
+    static final int BATCH_SIZE = 500;
+
+    private final ContentAddressedImageStore imageStore;
+    private final BoardGameRepository boardGameRepository;
+    private final ImageProperties properties;
+    private final Clock clock;
+    private final Counter deletedCounter;
+    private final Counter restoredCounter;
+
+    @Autowired
+    public ImageGarbageCollector(ContentAddressedImageStore imageStore, BoardGameRepository boardGameRepository,
+                                 ImageProperties properties, MeterRegistry meterRegistry) {
+        this(imageStore, boardGameRepository, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    ImageGarbageCollector(ContentAddressedImageStore imageStore, BoardGameRepository boardGameRepository,
+                          ImageProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.imageStore = imageStore;
+        this.boardGameRepository = boardGameRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.deletedCounter = Counter.builder("board_games.images.gc.deleted").register(meterRegistry);
+        this.restoredCounter = Counter.builder("board_games.images.gc.restored").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${board-games.images.gc-interval:6h}",
+               initialDelayString = "${board-games.images.gc-interval:6h}")
+    public void sweep() {
+        Instant now = clock.instant();
+        Instant cutoff = now.minus(properties.getGcGracePeriod());
+        int deleted = 0;
+        int trashed = 0;
+        try {
+            try (Stream<String> hashes = imageStore.trashedBefore(cutoff)) {
+                deleted = inBatches(hashes, this::purgeUnreferenced);
+            }
+            try (Stream<String> hashes = imageStore.hashesModifiedBefore(cutoff)) {
+                trashed = inBatches(hashes, batch -> trashUnreferenced(batch, cutoff, now));
+            }
+            int uploads = imageStore.deleteStaleUploads(cutoff);
+            if (deleted > 0 || trashed > 0 || uploads > 0) {
+                log.info("Deleted {} unreferenced images and {} abandoned uploads, moved {} images to the trash",
+                    deleted, uploads, trashed);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Image garbage collection stopped after deleting {} and trashing {} images", deleted, trashed, e);
+        }
+    }
+
+    private int inBatches(Stream<String> hashes, BatchAction action) throws IOException {
+        int processed = 0;
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        Iterator<String> iterator = hashes.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == BATCH_SIZE || !iterator.hasNext()) {
+                processed += action.apply(batch);
+                batch.clear();
+            }
+        }
+        return processed;
+    }
+
+    private int purgeUnreferenced(List<String> hashes) throws IOException {
+        Set<String> referenced = boardGameRepository.findReferencedImageHashes(hashes);
+        int deleted = 0;
+        for (String hash : hashes) {
+            if (referenced.contains(hash)) {
+                imageStore.restore(hash);
+                restoredCounter.increment();
+            } else if (imageStore.purge(hash)) {
+                deletedCounter.increment();
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private int trashUnreferenced(List<String> hashes, Instant cutoff, Instant now) throws IOException {
+        Set<String> referenced = boardGameRepository.findReferencedImageHashes(hashes);
+        int trashed = 0;
+        for (String hash : hashes) {
+            if (!referenced.contains(hash) && imageStore.trashIfModifiedBefore(hash, cutoff, now)) {
+                trashed++;
+            }
+        }
+        return trashed;
+    }
+
+    @FunctionalInterface
+    private interface BatchAction {
+        int apply(List<String> hashes) throws IOException;
+    }
+}
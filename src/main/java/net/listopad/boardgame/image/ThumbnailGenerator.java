@@ -0,0 +1,178 @@
+package net.listopad.boardgame.image;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.ImageProperties;
+import org.springframework.stereotype.Component;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates JPEG thumbnails on a small fixed pool with a bounded queue. When
+ * the queue is full the job is dropped rather than queued without limit; the
+ * next request for that thumbnail schedules it again.
+ */
+@Slf4j
+@Component
+public class ThumbnailGenerator {
+
+    static final int MAX_REMEMBERED_FAILURES = 10_000;
+
+    private final ContentAddressedImageStore imageStore;
+    private final ImageProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // Images that cannot be decoded (e.g. WebP) are not retried on every request; the oldest are forgotten first
+    private final Set<String> failed = Collections.synchronizedSet(Collections.newSetFromMap(
+        new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > MAX_REMEMBERED_FAILURES;
+            }
+        }));
+    private final Counter generatedCounter;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+
+    public ThumbnailGenerator(ContentAddressedImageStore imageStore, ImageProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.imageStore = imageStore;
+        this.properties = properties;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThumbnailThreads(), properties.getThumbnailThreads(),
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getThumbnailQueueCapacity()), runnable -> {
+                Thread thread = new Thread(runnable, "thumbnail-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.generatedCounter = Counter.builder("board_games.images.thumbnails.generated").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("board_games.images.thumbnails.rejected").register(meterRegistry);
+        this.failedCounter = Counter.builder("board_games.images.thumbnails.failed").register(meterRegistry);
+        Gauge.builder("board_games.images.thumbnails.queue.depth", executor, e -> e.getQueue().size())
+            .register(meterRegistry);
+    }
+
+    /**
+     * Schedules a thumbnail for the image unless one exists, is being made, or
+     * cannot be made. Returns true if a job is now pending.
+     */
+    public boolean request(String hash) {
+        Path target = imageStore.thumbnailPath(hash);
+        if (Files.exists(target) || failed.contains(hash)) {
+            return false;
+        }
+        if (!inFlight.add(hash)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    imageStore.find(hash).ifPresent(source -> generateQuietly(hash, source, target));
+                } finally {
+                    inFlight.remove(hash);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hash);
+            rejectedCounter.increment();
+            return false;
+        }
+    }
+
+    void generate(Path source, Path target) throws IOException {
+        BufferedImage image = read(source);
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) properties.getThumbnailSize() / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage thumbnail = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, targetWidth, targetHeight);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            if (!ImageIO.write(thumbnail, "jpg", temp.toFile())) {
+                throw new IOException("No JPEG writer available");
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generateQuietly(String hash, Path source, Path target) {
+        try {
+            generate(source, target);
+            generatedCounter.increment();
+        } catch (IOException | RuntimeException e) {
+            failed.add(hash);
+            failedCounter.increment();
+            log.warn("Could not generate thumbnail for image {}", hash, e);
+        }
+    }
+
+    // Decodes with source subsampling, so a large image is never fully materialized for a small thumbnail
+    private BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > properties.getMaxPixels()) {
+                    throw new IOException("Image is too large to decode: " + width + "x" + height);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (properties.getThumbnailSize() * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package net.listopad.boardgame.index;
+
+import net.listopad.boardgame.entity.BoardGame;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns a board game into a fixed-length, L2-normalized feature vector so that
+ * cosine similarity reduces to a dot product. The first slots describe player
+ * count and play time; the rest hold hashed name and description terms.
+ */
+final class BoardGameFeatureExtractor {
+
+    static final int DIMENSIONS = 32;
+
+    private static final int NUMERIC_DIMENSIONS = 3;
+    private static final int TERM_DIMENSIONS = DIMENSIONS - NUMERIC_DIMENSIONS;
+    private static final float NUMERIC_WEIGHT = 0.6f;
+    private static final float TERM_WEIGHT = 0.8f;
+    private static final double MAX_PLAY_TIME_LOG = Math.log1p(600);
+    private static final double MAX_PLAYERS_LOG = Math.log1p(12);
+    private static final Set<String> STOP_WORDS = Set.of(
+        "the", "and", "for", "with", "from", "this", "that", "your", "you", "are", "game", "games", "players", "player");
+
+    private BoardGameFeatureExtractor() {
+    }
+
+    static void extract(BoardGame game, float[] target, int offset) {
+        float[] numeric = new float[NUMERIC_DIMENSIONS];
+        numeric[0] = scaleLog(game.getMinPlayers(), MAX_PLAYERS_LOG);
+        numeric[1] = scaleLog(game.getMaxPlayers(), MAX_PLAYERS_LOG);
+        numeric[2] = scaleLog(game.getPlayTimeMinutes(), MAX_PLAY_TIME_LOG);
+
+        float[] terms = new float[TERM_DIMENSIONS];
+        hashTerms(game.getName(), terms, 2.0f);
+        hashTerms(game.getDescription(), terms, 1.0f);
+
+        normalizeInto(numeric, NUMERIC_WEIGHT, target, offset);
+        normalizeInto(terms, TERM_WEIGHT, target, offset + NUMERIC_DIMENSIONS);
+
+        double norm = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            norm += target[offset + i] * target[offset + i];
+        }
+        if (norm > 0) {
+            float scale = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < DIMENSIONS; i++) {
+                target[offset + i] *= scale;
+            }
+        }
+    }
+
+    private static float scaleLog(Integer value, double maxLog) {
+        if (value == null || value <= 0) {
+            return 0f;
+        }
+        return (float) Math.min(1.0, Math.log1p(value) / maxLog);
+    }
+
+    // Signed feature hashing keeps collisions from biasing similarity upwards
+    private static void hashTerms(String text, float[] terms, float weight) {
+        if (text == null) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                addTerm(lower.substring(start, i), terms, weight);
+                start = -1;
+            }
+        }
+    }
+
+    private static void addTerm(String term, float[] terms, float weight) {
+        if (term.length() < 3 || STOP_WORDS.contains(term)) {
+            return;
+        }
+        int hash = term.hashCode() * 0x9E3779B1;
+        int bucket = Math.floorMod(hash, TERM_DIMENSIONS);
+        terms[bucket] += (hash >>> 31) == 0 ? weight : -weight;
+    }
+
+    private static void normalizeInto(float[] block, float weight, float[] target, int offset) {
+        double norm = 0;
+        for (float value : block) {
+            norm += value * value;
+        }
+        float scale = norm > 0 ? (float) (weight / Math.sqrt(norm)) : 0f;
+        for (int i = 0; i < block.length; i++) {
+            target[offset + i] = block[i] * scale;
+        }
+    }
+}
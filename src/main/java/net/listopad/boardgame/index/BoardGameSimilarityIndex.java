@@ -0,0 +1,227 @@
+package net.listopad.boardgame.index;
+
+import net.listopad.boardgame.entity.BoardGame;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory nearest-neighbour index over board game feature vectors. Vectors
+ * live in one flat float array so a query is a single sequential scan of
+ * {@code size * DIMENSIONS} floats with a bounded top-k heap; at 100k games
+ * that is about 12 MB. {@code BoardGameSimilarityBenchmark} in the {@code jmh}
+ * source set measures a query at that size.
+ */
+@Component
+public class BoardGameSimilarityIndex {
+
+    private static final int DIMENSIONS = BoardGameFeatureExtractor.DIMENSIONS;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    private float[] vectors = new float[INITIAL_CAPACITY * DIMENSIONS];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public void upsert(BoardGame game) {
+        float[] vector = new float[DIMENSIONS];
+        BoardGameFeatureExtractor.extract(game, vector, 0);
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(game.getId());
+            if (slot == null) {
+                ensureCapacity(size + 1);
+                slot = size++;
+                ids[slot] = game.getId();
+                slotById.put(game.getId(), slot);
+            }
+            System.arraycopy(vector, 0, vectors, slot * DIMENSIONS, DIMENSIONS);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            // Move the last vector into the hole to keep the array dense
+            int last = --size;
+            if (slot != last) {
+                System.arraycopy(vectors, last * DIMENSIONS, vectors, slot * DIMENSIONS, DIMENSIONS);
+                ids[slot] = ids[last];
+                slotById.put(ids[slot], slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index. Vectors are computed before the write lock is
+     * taken so queries keep running against the old contents meanwhile.
+     */
+    public void rebuild(Collection<BoardGame> games) {
+        int capacity = Math.max(INITIAL_CAPACITY, games.size());
+        float[] newVectors = new float[capacity * DIMENSIONS];
+        long[] newIds = new long[capacity];
+        Map<Long, Integer> newSlots = new HashMap<>(games.size() * 2);
+        int count = 0;
+        for (BoardGame game : games) {
+            if (newSlots.putIfAbsent(game.getId(), count) == null) {
+                BoardGameFeatureExtractor.extract(game, newVectors, count * DIMENSIONS);
+                newIds[count++] = game.getId();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            vectors = newVectors;
+            ids = newIds;
+            size = count;
+            slotById.clear();
+            slotById.putAll(newSlots);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the {@code limit} most similar games, best first, or
+     * {@code null} if the game is not indexed.
+     */
+    public long[] findSimilar(Long id, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer querySlot = slotById.get(id);
+            if (querySlot == null) {
+                return null;
+            }
+            int k = Math.min(limit, size - 1);
+            if (k <= 0) {
+                return new long[0];
+            }
+            float[] heapScores = new float[k];
+            int[] heapSlots = new int[k];
+            int heapSize = 0;
+            int queryOffset = querySlot * DIMENSIONS;
+
+            for (int slot = 0; slot < size; slot++) {
+                if (slot == querySlot) {
+                    continue;
+                }
+                float score = dot(vectors, queryOffset, slot * DIMENSIONS);
+                if (heapSize < k) {
+                    heapScores[heapSize] = score;
+                    heapSlots[heapSize] = slot;
+                    siftUp(heapScores, heapSlots, heapSize++);
+                } else if (score > heapScores[0]) {
+                    heapScores[0] = score;
+                    heapSlots[0] = slot;
+                    siftDown(heapScores, heapSlots, heapSize);
+                }
+            }
+
+            // Drain the min-heap from the back so the best match ends up first
+            long[] result = new long[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                result[i] = ids[heapSlots[0]];
+                heapScores[0] = heapScores[i];
+                heapSlots[0] = heapSlots[i];
+                siftDown(heapScores, heapSlots, i);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(Long id) {
+        lock.readLock().lock();
+        try {
+            return slotById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        float[] newVectors = new float[capacity * DIMENSIONS];
+        System.arraycopy(vectors, 0, newVectors, 0, size * DIMENSIONS);
+        long[] newIds = new long[capacity];
+        System.arraycopy(ids, 0, newIds, 0, size);
+        vectors = newVectors;
+        ids = newIds;
+    }
+
+    // Four independent partial sums so consecutive multiply-adds do not wait on each other
+    // (DIMENSIONS is a multiple of four)
+    private static float dot(float[] data, int a, int b) {
+        float sum0 = 0f;
+        float sum1 = 0f;
+        float sum2 = 0f;
+        float sum3 = 0f;
+        for (int i = 0; i < DIMENSIONS; i += 4) {
+            sum0 += data[a + i] * data[b + i];
+            sum1 += data[a + i + 1] * data[b + i + 1];
+            sum2 += data[a + i + 2] * data[b + i + 2];
+            sum3 += data[a + i + 3] * data[b + i + 3];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    private static void siftUp(float[] scores, int[] slots, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(scores, slots, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(float[] scores, int[] slots, int heapSize) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= heapSize) {
+                return;
+            }
+            int smallest = left + 1 < heapSize && scores[left + 1] < scores[left] ? left + 1 : left;
+            if (scores[index] <= scores[smallest]) {
+                return;
+            }
+            swap(scores, slots, index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(float[] scores, int[] slots, int i, int j) {
+        float score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+        int slot = slots[i];
+        slots[i] = slots[j];
+        slots[j] = slot;
+    }
+}
@@ -0,0 +1,59 @@
+package net.listopad.boardgame.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.repository.BoardGameRepository;
+import net.listopad.boardgame.snapshot.CatalogSnapshotLoader;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps {@link BoardGameSimilarityIndex} in step with the catalog: a full
+ * build at startup and on resync (from the catalog snapshot when there is
+ * one), single-vector updates for everything else.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SimilarityIndexMaintainer {
+
+    private final BoardGameSimilarityIndex similarityIndex;
+    private final BoardGameRepository boardGameRepository;
+    private final CatalogSnapshotLoader snapshotLoader;
+    private final AtomicBoolean built = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!built.get()) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardGameChanged(BoardGameChangedEvent event) {
+        switch (event.type()) {
+            case RESYNC -> rebuild();
+            case DELETED -> similarityIndex.remove(event.id());
+            case CREATED, UPDATED -> {
+                if (event.game() != null) {
+                    similarityIndex.upsert(event.game());
+                } else {
+                    boardGameRepository.findById(event.id())
+                        .ifPresentOrElse(similarityIndex::upsert, () -> similarityIndex.remove(event.id()));
+                }
+            }
+        }
+    }
+
+    private synchronized void rebuild() {
+        long start = System.nanoTime();
+        similarityIndex.rebuild(snapshotLoader.loadCatalog());
+        built.set(true);
+        log.info("Built similarity index with {} games in {} ms",
+            similarityIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,252 @@
+package net.listopad.boardgame.jdbc;
+
+import net.listopad.boardgame.deadline.RequestDeadline;
+import net.listopad.boardgame.deadline.RequestDeadlineHolder;
+import net.listopad.boardgame.jdbc.StatementRecorder.StatementMeters;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+
+/**
+ * DataSource wrapper that proxies connections, statements and result sets to
+ * time every execution and count the rows it produced. Query timing finishes
+ * when the result set is closed so the row count is known; updates finish as
+ * soon as they return. Statements executed for a request with a deadline get
+ * the remaining time as their query timeout and are registered with the
+ * deadline so they can be cancelled when it passes.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final StatementRecorder recorder;
+
+    public InstrumentedDataSource(DataSource targetDataSource, StatementRecorder recorder) {
+        super(targetDataSource);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {type}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final List<String> bindTypes = new ArrayList<>();
+        private ResultSetHandler openResultSet;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                recordBindType(index, name, args[1]);
+            } else if ("clearParameters".equals(name)) {
+                bindTypes.clear();
+            } else if ("close".equals(name)) {
+                finishOpenResultSet();
+            } else if ("getResultSet".equals(name)) {
+                return wrapResultSet(InstrumentedDataSource.invoke(target, method, args), null);
+            } else if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            return InstrumentedDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finishOpenResultSet();
+            String statementSql = sql != null ? sql
+                : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            StatementMeters meters = recorder.metersFor(statementSql);
+            List<String> binds = List.copyOf(bindTypes);
+            RequestDeadline deadline = RequestDeadlineHolder.current();
+            if (deadline != null) {
+                if (!deadline.register(target)) {
+                    throw new SQLTimeoutException("Request deadline exceeded before the statement was executed");
+                }
+                int timeout = deadline.queryTimeoutSeconds();
+                int current = target.getQueryTimeout();
+                if (current == 0 || timeout < current) {
+                    target.setQueryTimeout(timeout);
+                }
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = InstrumentedDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                recorder.record(meters, binds, System.nanoTime() - start, -1, true);
+                throw e;
+            } finally {
+                if (deadline != null) {
+                    deadline.unregister(target);
+                }
+            }
+            if (result instanceof ResultSet resultSet) {
+                return wrapResultSet(resultSet, new PendingExecution(meters, binds, start));
+            }
+            recorder.record(meters, binds, System.nanoTime() - start, rowsOf(result), false);
+            return result;
+        }
+
+        private Object wrapResultSet(Object resultSet, PendingExecution pending) {
+            if (!(resultSet instanceof ResultSet target)) {
+                return resultSet;
+            }
+            ResultSetHandler handler = new ResultSetHandler(target, pending);
+            if (pending != null) {
+                openResultSet = handler;
+            }
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSet.class}, handler);
+        }
+
+        private void finishOpenResultSet() {
+            if (openResultSet != null) {
+                openResultSet.finish();
+                openResultSet = null;
+            }
+        }
+
+        private void recordBindType(int index, String setter, Object value) {
+            while (bindTypes.size() < index) {
+                bindTypes.add("?");
+            }
+            String type = "setNull".equals(setter) ? "null"
+                : value == null ? setter.substring(3) : value.getClass().getSimpleName();
+            bindTypes.set(index - 1, type);
+        }
+
+        private long rowsOf(Object result) {
+            if (result instanceof Integer count) {
+                return Math.max(0, count);
+            }
+            if (result instanceof Long count) {
+                return Math.max(0, count);
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(0, count);
+                }
+                return total;
+            }
+            if (result instanceof long[] counts) {
+                long total = 0;
+                for (long count : counts) {
+                    total += Math.max(0, count);
+                }
+                return total;
+            }
+            return -1;
+        }
+    }
+
+    private record PendingExecution(StatementMeters meters, List<String> bindTypes, long startNanos) {
+    }
+
+    private class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private PendingExecution pending;
+        private long rows;
+
+        ResultSetHandler(ResultSet target, PendingExecution pending) {
+            this.target = target;
+            this.pending = pending;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                finish();
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if ("next".equals(name) && Boolean.TRUE.equals(result)) {
+                rows++;
+            }
+            return result;
+        }
+
+        void finish() {
+            if (pending != null) {
+                recorder.record(pending.meters(), pending.bindTypes(), System.nanoTime() - pending.startNanos(), rows, false);
+                pending = null;
+            }
+        }
+    }
+}
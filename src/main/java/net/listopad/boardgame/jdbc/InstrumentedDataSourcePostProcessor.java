@@ -0,0 +1,33 @@
+package net.listopad.boardgame.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.listopad.boardgame.config.JdbcObservabilityProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource bean in an {@link InstrumentedDataSource}. Dependencies
+ * are resolved lazily because post-processors are created before most beans.
+ */
+public class InstrumentedDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<JdbcObservabilityProperties> properties;
+
+    public InstrumentedDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                               ObjectProvider<JdbcObservabilityProperties> properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)
+                && properties.getObject().isEnabled()) {
+            return new InstrumentedDataSource(dataSource,
+                new StatementRecorder(meterRegistry.getObject(), properties.getObject()));
+        }
+        return bean;
+    }
+}
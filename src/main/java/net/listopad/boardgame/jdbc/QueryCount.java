@@ -0,0 +1,63 @@
+package net.listopad.boardgame.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statements executed on one thread while a {@link QueryCountHolder} scope was
+ * open, split by statement type and by statement shape.
+ */
+public class QueryCount {
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int select;
+    private int insert;
+    private int update;
+    private int delete;
+    private int other;
+
+    void record(String shape) {
+        shapes.merge(shape, 1, Integer::sum);
+        switch (StatementShapes.kind(shape)) {
+            case "select" -> select++;
+            case "insert" -> insert++;
+            case "update" -> update++;
+            case "delete" -> delete++;
+            default -> other++;
+        }
+    }
+
+    public int getTotal() {
+        return select + insert + update + delete + other;
+    }
+
+    public int getSelect() {
+        return select;
+    }
+
+    public int getInsert() {
+        return insert;
+    }
+
+    public int getUpdate() {
+        return update;
+    }
+
+    public int getDelete() {
+        return delete;
+    }
+
+    public int getOther() {
+        return other;
+    }
+
+    public Map<String, Integer> getShapes() {
+        return Map.copyOf(shapes);
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCount{total=" + getTotal() + ", select=" + select + ", insert=" + insert
+            + ", update=" + update + ", delete=" + delete + ", other=" + other + ", shapes=" + shapes + "}";
+    }
+}
@@ -0,0 +1,42 @@
+package net.listopad.boardgame.jdbc;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Thread-bound query counting. Scopes nest: every open scope on the current
+ * thread sees each statement, so a test can count inside a request that the
+ * request filter is already counting.
+ */
+public final class QueryCountHolder {
+
+    private static final ThreadLocal<Deque<QueryCount>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private QueryCountHolder() {
+    }
+
+    public static QueryCount start() {
+        QueryCount count = new QueryCount();
+        SCOPES.get().push(count);
+        return count;
+    }
+
+    public static void stop(QueryCount count) {
+        Deque<QueryCount> scopes = SCOPES.get();
+        scopes.remove(count);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static void record(String shape) {
+        Deque<QueryCount> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+            return;
+        }
+        for (QueryCount scope : scopes) {
+            scope.record(shape);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package net.listopad.boardgame.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.JdbcObservabilityProperties;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns executed statements into per-shape latency histograms and row count
+ * summaries, logs statements slower than the configured threshold, and feeds
+ * the thread-bound {@link QueryCountHolder} scopes.
+ * <p>
+ * The shape and meters of a statement are resolved once per distinct SQL text
+ * and cached, so executing a known statement costs a map lookup rather than
+ * the shape regexes and a meter registry lookup.
+ */
+@Slf4j
+public class StatementRecorder {
+
+    private static final String OTHER_SHAPE = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final JdbcObservabilityProperties properties;
+    private final ConcurrentHashMap<String, StatementMeters> metersBySql = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, StatementMeters> metersByShape = new ConcurrentHashMap<>();
+
+    public StatementRecorder(MeterRegistry meterRegistry, JdbcObservabilityProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the meters for a statement's SQL text. Texts beyond the cache
+     * bound (e.g. SQL with inlined literals) are still recorded, just without
+     * skipping the shape computation.
+     */
+    public StatementMeters metersFor(String sql) {
+        if (sql == null) {
+            return metersForShape(StatementShapes.of(null));
+        }
+        StatementMeters meters = metersBySql.get(sql);
+        if (meters != null) {
+            return meters;
+        }
+        meters = metersForShape(StatementShapes.of(sql));
+        if (metersBySql.size() < properties.getMaxCachedStatements()) {
+            metersBySql.putIfAbsent(sql, meters);
+        }
+        return meters;
+    }
+
+    public void record(StatementMeters meters, List<String> bindTypes, long elapsedNanos, long rows, boolean failed) {
+        QueryCountHolder.record(meters.shape());
+
+        (failed ? meters.errors() : meters.successes).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            meters.rows.record(rows);
+        }
+
+        if (elapsedNanos >= properties.getSlowQueryThreshold().toNanos()) {
+            log.warn("Slow query: {} ms, {} rows{}, binds {}: {}",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows < 0 ? "?" : rows,
+                failed ? " (failed)" : "", bindTypes, meters.shape());
+        }
+    }
+
+    int cachedStatements() {
+        return metersBySql.size();
+    }
+
+    // Caps meter cardinality if something starts generating unbounded SQL text
+    private StatementMeters metersForShape(String shape) {
+        StatementMeters meters = metersByShape.get(shape);
+        if (meters != null) {
+            return meters;
+        }
+        String tag = metersByShape.size() < properties.getMaxStatementShapes() ? shape : OTHER_SHAPE;
+        StatementMeters created = register(shape, tag);
+        if (tag.equals(shape)) {
+            StatementMeters previous = metersByShape.putIfAbsent(shape, created);
+            return previous != null ? previous : created;
+        }
+        return created;
+    }
+
+    // Micrometer returns the already registered meter for a known name and tags, so racing registrations share meters
+    private StatementMeters register(String shape, String tag) {
+        String kind = StatementShapes.kind(shape);
+        return new StatementMeters(shape, tag, kind, timer(tag, kind, "success"),
+            DistributionSummary.builder("board_games.jdbc.statement.rows")
+                .tag("sql", tag)
+                .tag("kind", kind)
+                .register(meterRegistry));
+    }
+
+    // Fixed buckets rather than percentile histograms, whose dozens of buckets per shape dominated the series count
+    private Timer timer(String tag, String kind, String outcome) {
+        return Timer.builder("board_games.jdbc.statement")
+            .tag("sql", tag)
+            .tag("kind", kind)
+            .tag("outcome", outcome)
+            .serviceLevelObjectives(properties.getLatencyBuckets().toArray(Duration[]::new))
+            .register(meterRegistry);
+    }
+
+    /**
+     * Shape of a statement together with the meters its executions are recorded
+     * in. The error timer is registered on the first failure only.
+     */
+    public final class StatementMeters {
+
+        private final String shape;
+        private final String tag;
+        private final String kind;
+        private final Timer successes;
+        private final DistributionSummary rows;
+        private volatile Timer errors;
+
+        private StatementMeters(String shape, String tag, String kind, Timer successes, DistributionSummary rows) {
+            this.shape = shape;
+            this.tag = tag;
+            this.kind = kind;
+            this.successes = successes;
+            this.rows = rows;
+        }
+
+        public String shape() {
+            return shape;
+        }
+
+        private Timer errors() {
+            Timer timer = errors;
+            if (timer == null) {
+                timer = timer(tag, kind, "error");
+                errors = timer;
+            }
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package net.listopad.boardgame.jdbc;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL text to its shape: literals become placeholders and whitespace
+ * is collapsed, so statements that differ only in values share metrics.
+ */
+final class StatementShapes {
+
+    private static final int MAX_LENGTH = 256;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private StatementShapes() {
+    }
+
+    static String of(String sql) {
+        if (sql == null) {
+            return "unknown";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return shape.length() > MAX_LENGTH ? shape.substring(0, MAX_LENGTH) : shape;
+    }
+
+    static String kind(String shape) {
+        int end = shape.indexOf(' ');
+        String keyword = (end < 0 ? shape : shape.substring(0, end)).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "with" -> "select";
+            case "insert" -> "insert";
+            case "update" -> "update";
+            case "delete" -> "delete";
+            default -> "other";
+        };
+    }
+}
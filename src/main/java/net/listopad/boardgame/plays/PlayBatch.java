@@ -0,0 +1,16 @@
+package net.listopad.boardgame.plays;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.util.List;
+
+/**
+ * Request body of the plays endpoint: a single play object or an array of them.
+ */
+public record PlayBatch(List<PlayRequest> plays) {
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public PlayBatch(@JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY) List<PlayRequest> plays) {
+        this.plays = plays == null ? List.of() : plays;
+    }
+}
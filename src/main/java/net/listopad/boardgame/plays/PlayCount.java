@@ -0,0 +1,6 @@
+package net.listopad.boardgame.plays;
+
+import java.time.LocalDate;
+
+public record PlayCount(long boardGameId, long playCount, long totalMinutes, LocalDate lastPlayedOn) {
+}
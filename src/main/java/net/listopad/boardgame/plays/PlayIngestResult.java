@@ -0,0 +1,7 @@
+package net.listopad.boardgame.plays;
+
+/**
+ * {@code flushed} is true only when the plays were written before the request returned.
+ */
+public record PlayIngestResult(int accepted, boolean flushed) {
+}
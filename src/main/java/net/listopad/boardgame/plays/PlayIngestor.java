@@ -0,0 +1,266 @@
+package net.listopad.boardgame.plays;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.PlaysProperties;
+import net.listopad.boardgame.exception.ServiceOverloadedException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffers plays in a lock-free queue and writes them from a single thread in
+ * large batches. Producers never block: when the buffer is full the request
+ * is rejected. Because one thread writes batches strictly in queue order and
+ * retries a failed batch before taking the next, a request's plays are all
+ * durable once the batch holding its last play is written; that is when its
+ * acknowledgement completes.
+ * <p>
+ * A batch that keeps failing is split in halves, still written in order, so
+ * a play the database rejects (e.g. a date Postgres cannot store) is narrowed
+ * down to a batch of one. That play is dead-lettered: logged, counted and
+ * dropped, and its request's acknowledgement fails. Other failures, such as
+ * the database being down, are retried without dropping anything.
+ */
+@Slf4j
+@Component
+public class PlayIngestor implements SmartLifecycle {
+
+    // Every play of a request shares its acknowledgement, so dead-lettering any of them fails the request
+    private record Pending(PlayRecord play, CompletableFuture<Void> ack, boolean last) {
+    }
+
+    private final PlayRepository playRepository;
+    private final PlaysProperties properties;
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final Counter writtenCounter;
+    private final Counter rejectedCounter;
+    private final Counter failedFlushCounter;
+    private final Counter deadLetteredCounter;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private volatile Thread flusher;
+    // Drained but unwritten batches, oldest first; owned by the flusher, then by stop() once the flusher has exited
+    private final Deque<List<Pending>> batches = new ArrayDeque<>();
+    private int attempts;
+
+    public PlayIngestor(PlayRepository playRepository, PlaysProperties properties, MeterRegistry meterRegistry) {
+        this.playRepository = playRepository;
+        this.properties = properties;
+        this.writtenCounter = Counter.builder("board_games.plays.written").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("board_games.plays.rejected").register(meterRegistry);
+        this.failedFlushCounter = Counter.builder("board_games.plays.flush.failures").register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("board_games.plays.dead_lettered").register(meterRegistry);
+        this.flushTimer = Timer.builder("board_games.plays.flush").register(meterRegistry);
+        Gauge.builder("board_games.plays.buffered", buffered, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Buffers the plays. The returned future completes when all of them have
+     * been written.
+     *
+     * @throws ServiceOverloadedException if the buffer cannot take them all
+     */
+    public CompletableFuture<Void> submit(List<PlayRecord> plays) {
+        if (plays.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (buffered.addAndGet(plays.size()) > properties.getBufferCapacity()) {
+            buffered.addAndGet(-plays.size());
+            rejectedCounter.increment(plays.size());
+            throw new ServiceOverloadedException("Play buffer is full, please retry");
+        }
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        int last = plays.size() - 1;
+        for (int i = 0; i < last; i++) {
+            queue.add(new Pending(plays.get(i), ack, false));
+        }
+        queue.add(new Pending(plays.get(last), ack, true));
+        return ack;
+    }
+
+    // Wakes the flusher early, for callers that wait for their plays to be written
+    public void flushSoon() {
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public int getBufferedCount() {
+        return buffered.get();
+    }
+
+    /**
+     * Makes one attempt at the oldest unwritten batch, draining a new one from
+     * the buffer if there is none. Returns the number of plays taken out of the
+     * buffer (written or dead-lettered), 0 if there was nothing to write or
+     * the batch was split, and -1 if the write failed and is to be retried.
+     */
+    int flushBatch() {
+        if (batches.isEmpty()) {
+            List<Pending> batch = drain();
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            batches.add(batch);
+        }
+        List<Pending> batch = batches.peekFirst();
+        try {
+            write(batch);
+            batches.removeFirst();
+            attempts = 0;
+            return batch.size();
+        } catch (RuntimeException e) {
+            // The same rows fail the same way again, so a rejected batch is narrowed down right away
+            boolean rejected = e instanceof DataIntegrityViolationException;
+            attempts = rejected ? Math.max(attempts + 1, properties.getMaxWriteAttempts()) : attempts + 1;
+            if (attempts < properties.getMaxWriteAttempts()) {
+                log.warn("Failed to write {} plays, retrying", batch.size(), e);
+                return -1;
+            }
+            if (batch.size() > 1) {
+                log.warn("Failed to write {} plays {} times, splitting the batch", batch.size(), attempts, e);
+                batches.removeFirst();
+                batches.addFirst(batch.subList(batch.size() / 2, batch.size()));
+                batches.addFirst(batch.subList(0, batch.size() / 2));
+                attempts = 0;
+                return 0;
+            }
+            if (rejected) {
+                batches.removeFirst();
+                attempts = 0;
+                deadLetter(batch.get(0), e);
+                return 1;
+            }
+            log.warn("Failed to write a play {} times, retrying", attempts, e);
+            return -1;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 5 3 * * *")
+    public void createUpcomingPartitions() {
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        for (LocalDate month : List.of(thisMonth, thisMonth.plusMonths(1))) {
+            int moved = playRepository.createMonthlyPartition(month);
+            if (moved > 0) {
+                log.warn("Moved {} plays for {} out of the default partition; partition maintenance fell behind",
+                    moved, month);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::flushLoop, "play-ingest-flusher");
+        thread.setDaemon(true);
+        flusher = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(properties.getShutdownTimeout().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Draining next to a flusher still in a write would reorder or duplicate batches
+            if (thread.isAlive()) {
+                log.error("Play flusher did not stop within {}, lost {} buffered plays on shutdown",
+                    properties.getShutdownTimeout(), buffered.get());
+                return;
+            }
+        }
+        int remaining = buffered.get();
+        while (buffered.get() > 0) {
+            if (flushBatch() < 0) {
+                log.error("Lost {} buffered plays on shutdown", buffered.get());
+                return;
+            }
+        }
+        log.info("Flushed {} buffered plays on shutdown", remaining);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server so no new plays arrive while draining
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            int flushed = flushBatch();
+            if (flushed < 0) {
+                // The failed batch stays first, so later batches are never written ahead of it
+                LockSupport.parkNanos(properties.getRetryBackoff().toNanos());
+            } else if (flushed == 0 && batches.isEmpty()) {
+                LockSupport.parkNanos(properties.getFlushInterval().toNanos());
+            }
+        }
+    }
+
+    private void deadLetter(Pending pending, RuntimeException cause) {
+        log.error("Dropping play rejected by the database: {}", pending.play(), cause);
+        buffered.decrementAndGet();
+        deadLetteredCounter.increment();
+        pending.ack().completeExceptionally(cause);
+    }
+
+    private List<Pending> drain() {
+        List<Pending> batch = new ArrayList<>(Math.min(properties.getBatchSize(), Math.max(buffered.get(), 1)));
+        Pending pending;
+        while (batch.size() < properties.getBatchSize() && (pending = queue.poll()) != null) {
+            batch.add(pending);
+        }
+        return batch;
+    }
+
+    private void write(List<Pending> batch) {
+        List<PlayRecord> plays = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            plays.add(pending.play());
+        }
+        try {
+            flushTimer.record(() -> playRepository.insertBatch(plays));
+        } catch (RuntimeException e) {
+            failedFlushCounter.increment();
+            throw e;
+        }
+        buffered.addAndGet(-batch.size());
+        writtenCounter.increment(batch.size());
+        for (Pending pending : batch) {
+            if (pending.last()) {
+                pending.ack().complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package net.listopad.boardgame.plays;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the plays table.
+ */
+public record PlayRecord(
+    long boardGameId,
+    LocalDate playedOn,
+    int playerCount,
+    Integer durationMinutes,
+    Long userId,
+    LocalDateTime recordedAt
+) {
+}
@@ -0,0 +1,144 @@
+package net.listopad.boardgame.plays;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+@Repository
+@RequiredArgsConstructor
+public class PlayRepository {
+
+    private static final String COPY_SQL =
+        "COPY plays (board_game_id, played_on, player_count, duration_minutes, user_id, recorded_at) " +
+        "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO plays (board_game_id, played_on, player_count, duration_minutes, user_id, recorded_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Games deleted since their plays were accepted are skipped rather than failing the batch
+    private static final String UPSERT_COUNTS_SQL =
+        "INSERT INTO board_game_play_counts (board_game_id, play_count, total_minutes, last_played_on) " +
+        "SELECT v.board_game_id, v.play_count, v.total_minutes, v.last_played_on " +
+        "FROM unnest(?::bigint[], ?::bigint[], ?::bigint[], ?::date[]) " +
+        "AS v(board_game_id, play_count, total_minutes, last_played_on) " +
+        "WHERE EXISTS (SELECT 1 FROM board_games bg WHERE bg.id = v.board_game_id) " +
+        "ORDER BY v.board_game_id " +
+        "ON CONFLICT (board_game_id) DO UPDATE SET " +
+        "play_count = board_game_play_counts.play_count + EXCLUDED.play_count, " +
+        "total_minutes = board_game_play_counts.total_minutes + EXCLUDED.total_minutes, " +
+        "last_played_on = GREATEST(board_game_play_counts.last_played_on, EXCLUDED.last_played_on)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Appends the plays and adds them to the per-game totals in one
+     * transaction. Uses COPY on Postgres and a JDBC batch elsewhere.
+     */
+    @Transactional
+    public void insertBatch(List<PlayRecord> plays) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                copy(connection.unwrap(PGConnection.class), plays);
+            } else {
+                insert(connection, plays);
+            }
+            upsertCounts(connection, plays);
+            return null;
+        });
+    }
+
+    public Optional<PlayCount> findCount(long boardGameId) {
+        return jdbcTemplate.query(
+            "SELECT * FROM board_game_play_counts WHERE board_game_id = ?",
+            (rs, rowNum) -> new PlayCount(rs.getLong("board_game_id"), rs.getLong("play_count"),
+                rs.getLong("total_minutes"), rs.getDate("last_played_on").toLocalDate()),
+            boardGameId).stream().findFirst();
+    }
+
+    /**
+     * Creates the partition for the given month if it does not exist yet and
+     * returns how many rows were moved into it from the default partition.
+     */
+    public int createMonthlyPartition(LocalDate month) {
+        Integer moved = jdbcTemplate.queryForObject("SELECT create_plays_partition(?)", Integer.class, Date.valueOf(month));
+        return moved == null ? 0 : moved;
+    }
+
+    private static void copy(PGConnection connection, List<PlayRecord> plays) throws SQLException {
+        // Numbers and ISO dates never need CSV quoting; an empty field is NULL
+        StringBuilder csv = new StringBuilder(plays.size() * 64);
+        for (PlayRecord play : plays) {
+            csv.append(play.boardGameId()).append(',')
+                .append(play.playedOn()).append(',')
+                .append(play.playerCount()).append(',')
+                .append(play.durationMinutes() == null ? "" : play.durationMinutes()).append(',')
+                .append(play.userId() == null ? "" : play.userId()).append(',')
+                .append(play.recordedAt()).append('\n');
+        }
+        try {
+            connection.getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY into plays failed", e);
+        }
+    }
+
+    private static void insert(Connection connection, List<PlayRecord> plays) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+            for (PlayRecord play : plays) {
+                ps.setLong(1, play.boardGameId());
+                ps.setDate(2, Date.valueOf(play.playedOn()));
+                ps.setInt(3, play.playerCount());
+                ps.setObject(4, play.durationMinutes(), Types.INTEGER);
+                ps.setObject(5, play.userId(), Types.BIGINT);
+                ps.setTimestamp(6, Timestamp.valueOf(play.recordedAt()));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void upsertCounts(Connection connection, List<PlayRecord> plays) throws SQLException {
+        // One row per game; sorted ids keep row locks in the same order on every node
+        Map<Long, long[]> totals = new TreeMap<>();
+        Map<Long, LocalDate> lastPlayed = new TreeMap<>();
+        for (PlayRecord play : plays) {
+            long[] total = totals.computeIfAbsent(play.boardGameId(), id -> new long[2]);
+            total[0]++;
+            total[1] += play.durationMinutes() == null ? 0 : play.durationMinutes();
+            lastPlayed.merge(play.boardGameId(), play.playedOn(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+        Long[] ids = totals.keySet().toArray(Long[]::new);
+        Long[] counts = new Long[ids.length];
+        Long[] minutes = new Long[ids.length];
+        Date[] dates = new Date[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            counts[i] = totals.get(ids[i])[0];
+            minutes[i] = totals.get(ids[i])[1];
+            dates[i] = Date.valueOf(lastPlayed.get(ids[i]));
+        }
+        try (PreparedStatement ps = connection.prepareStatement(UPSERT_COUNTS_SQL)) {
+            ps.setArray(1, connection.createArrayOf("bigint", ids));
+            ps.setArray(2, connection.createArrayOf("bigint", counts));
+            ps.setArray(3, connection.createArrayOf("bigint", minutes));
+            ps.setArray(4, connection.createArrayOf("date", dates));
+            ps.executeUpdate();
+        }
+    }
+}
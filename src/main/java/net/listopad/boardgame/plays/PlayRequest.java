@@ -0,0 +1,6 @@
+package net.listopad.boardgame.plays;
+
+import java.time.LocalDate;
+
+public record PlayRequest(LocalDate playedOn, Integer playerCount, Integer durationMinutes, Long userId) {
+}
@@ -0,0 +1,6 @@
+package net.listopad.boardgame.popularity;
+
+import net.listopad.boardgame.entity.BoardGame;
+
+public record TrendingGame(BoardGame game, double score) {
+}
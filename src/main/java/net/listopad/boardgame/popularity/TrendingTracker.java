@@ -0,0 +1,137 @@
+package net.listopad.boardgame.popularity;
+
+import net.listopad.boardgame.config.PopularityProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-decayed view scores for the most viewed games. Uses forward decay: a
+ * view at time t adds 2^((t - landmark) / halfLife), so scores never have to
+ * be decayed in place and stay comparable with each other; multiplying by the
+ * same factor for "now" gives the decayed score. Recording is a striped add
+ * on the game's score. The table is pruned to the best {@code capacity}
+ * games whenever it reaches twice that size.
+ */
+@Component
+public class TrendingTracker {
+
+    // Move the landmark before weights get anywhere near the range of a double
+    private static final double MAX_EXPONENT = 64;
+
+    public record Entry(long id, double score) {
+    }
+
+    // Scores are relative to the landmark they were recorded against, so the two are swapped together
+    private record Epoch(long landmark, Map<Long, DoubleAdder> scores) {
+    }
+
+    private final int capacity;
+    private final double halfLifeMillis;
+    private final LongSupplier clock;
+    private volatile Epoch epoch;
+
+    @Autowired
+    public TrendingTracker(PopularityProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    TrendingTracker(PopularityProperties properties, LongSupplier clock) {
+        this.capacity = properties.getTrendingCapacity();
+        this.halfLifeMillis = properties.getHalfLife().toMillis();
+        this.clock = clock;
+        this.epoch = new Epoch(clock.getAsLong(), new ConcurrentHashMap<>());
+    }
+
+    public void record(long id) {
+        Epoch current = epoch;
+        double exponent = exponent(current);
+        if (exponent > MAX_EXPONENT) {
+            current = rebase();
+            exponent = exponent(current);
+        }
+        current.scores().computeIfAbsent(id, key -> new DoubleAdder()).add(Math.pow(2, exponent));
+        if (current.scores().size() >= capacity * 2) {
+            prune();
+        }
+    }
+
+    public void remove(long id) {
+        epoch.scores().remove(id);
+    }
+
+    /**
+     * The {@code limit} highest scoring games, best first, with scores
+     * decayed to the current time.
+     */
+    public List<Entry> top(int limit) {
+        Epoch current = epoch;
+        List<Entry> result = best(current, limit);
+        double decay = Math.pow(2, -exponent(current));
+        result.replaceAll(entry -> new Entry(entry.id(), entry.score() * decay));
+        return result;
+    }
+
+    public int size() {
+        return epoch.scores().size();
+    }
+
+    private synchronized void prune() {
+        Epoch current = epoch;
+        if (current.scores().size() < capacity * 2) {
+            return;
+        }
+        Set<Long> keep = new HashSet<>();
+        best(current, capacity).forEach(entry -> keep.add(entry.id()));
+        current.scores().keySet().retainAll(keep);
+    }
+
+    // Copies the scores scaled to a landmark of now. Views racing with the copy may be dropped, never inflated.
+    private synchronized Epoch rebase() {
+        Epoch current = epoch;
+        if (exponent(current) <= MAX_EXPONENT) {
+            return current;
+        }
+        long now = clock.getAsLong();
+        double factor = Math.pow(2, -(now - current.landmark()) / halfLifeMillis);
+        Map<Long, DoubleAdder> scaled = new ConcurrentHashMap<>(current.scores().size() * 2);
+        current.scores().forEach((id, score) -> {
+            DoubleAdder adder = new DoubleAdder();
+            adder.add(score.sum() * factor);
+            scaled.put(id, adder);
+        });
+        Epoch next = new Epoch(now, scaled);
+        epoch = next;
+        return next;
+    }
+
+    private double exponent(Epoch current) {
+        return (clock.getAsLong() - current.landmark()) / halfLifeMillis;
+    }
+
+    private static List<Entry> best(Epoch current, int limit) {
+        PriorityQueue<Entry> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Entry::score));
+        for (Map.Entry<Long, DoubleAdder> entry : current.scores().entrySet()) {
+            best.add(new Entry(entry.getKey(), entry.getValue().sum()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Entry> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+}
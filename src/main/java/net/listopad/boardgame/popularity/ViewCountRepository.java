@@ -0,0 +1,42 @@
+package net.listopad.boardgame.popularity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+@RequiredArgsConstructor
+public class ViewCountRepository {
+
+    // Sorted ids keep row locks in the same order on every node; deleted games are skipped
+    private static final String UPSERT_SQL =
+        "INSERT INTO board_game_views (board_game_id, view_count, last_viewed_at) " +
+        "SELECT v.board_game_id, v.view_count, ? " +
+        "FROM unnest(?::bigint[], ?::bigint[]) AS v(board_game_id, view_count) " +
+        "WHERE EXISTS (SELECT 1 FROM board_games bg WHERE bg.id = v.board_game_id) " +
+        "ORDER BY v.board_game_id " +
+        "ON CONFLICT (board_game_id) DO UPDATE SET " +
+        "view_count = board_game_views.view_count + EXCLUDED.view_count, " +
+        "last_viewed_at = EXCLUDED.last_viewed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the given view counts in a single statement.
+     */
+    public void addViews(Map<Long, Long> viewsById, LocalDateTime viewedAt) {
+        Map<Long, Long> sorted = new TreeMap<>(viewsById);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_SQL);
+            ps.setTimestamp(1, Timestamp.valueOf(viewedAt));
+            ps.setArray(2, connection.createArrayOf("bigint", sorted.keySet().toArray()));
+            ps.setArray(3, connection.createArrayOf("bigint", sorted.values().toArray()));
+            return ps;
+        });
+    }
+}
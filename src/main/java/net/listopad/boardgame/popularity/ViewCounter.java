@@ -0,0 +1,92 @@
+package net.listopad.boardgame.popularity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.PopularityProperties;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts views in memory and adds them to board_game_views in one batched
+ * statement per flush interval, so reads never write to the database. A
+ * failed flush keeps its counts for the next one; a crash loses at most one
+ * interval of views.
+ */
+@Slf4j
+@Component
+public class ViewCounter {
+
+    private final ViewCountRepository viewCountRepository;
+    private final TrendingTracker trendingTracker;
+    private final PopularityProperties properties;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+    private final Counter failedFlushCounter;
+
+    public ViewCounter(ViewCountRepository viewCountRepository, TrendingTracker trendingTracker,
+                       PopularityProperties properties, MeterRegistry meterRegistry) {
+        this.viewCountRepository = viewCountRepository;
+        this.trendingTracker = trendingTracker;
+        this.properties = properties;
+        this.flushedCounter = Counter.builder("board_games.popularity.views.flushed").register(meterRegistry);
+        this.failedFlushCounter = Counter.builder("board_games.popularity.flush.failures").register(meterRegistry);
+        Gauge.builder("board_games.popularity.pending_games", pending, Map::size).register(meterRegistry);
+    }
+
+    public void recordView(long id) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        pending.computeIfAbsent(id, key -> new LongAdder()).increment();
+        trendingTracker.record(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardGameChanged(BoardGameChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            pending.remove(event.id());
+            trendingTracker.remove(event.id());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${board-games.popularity.flush-interval:10s}")
+    public synchronized void flush() {
+        Map<Long, Long> views = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                views.put(entry.getKey(), count);
+            } else {
+                // Idle for a whole interval; a view racing with this removal is the only one that can be lost
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        if (views.isEmpty()) {
+            return;
+        }
+        try {
+            viewCountRepository.addViews(views, LocalDateTime.now());
+            flushedCounter.increment(views.values().stream().mapToLong(Long::longValue).sum());
+        } catch (RuntimeException e) {
+            failedFlushCounter.increment();
+            views.forEach((id, count) -> pending.computeIfAbsent(id, key -> new LongAdder()).add(count));
+            log.warn("Failed to flush view counts for {} games, keeping them for the next flush", views.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,18 @@
+package net.listopad.boardgame.query;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/board-games/query}. Filters are ANDed; sorts apply
+ * in order, with the id as the final tie-breaker. For example:
+ * <pre>
+ * {"filters": [{"field": "name", "op": "contains", "value": "catan"},
+ *              {"field": "players", "op": "between", "value": [3, 5]},
+ *              {"field": "playTimeMinutes", "op": "lt", "value": 60},
+ *              {"field": "createdAt", "op": "gte", "value": "2026-01-01"}],
+ *  "sort": [{"field": "playTimeMinutes", "direction": "asc"}],
+ *  "limit": 20}
+ * </pre>
+ */
+public record BoardGameQuery(List<QueryFilter> filters, List<QuerySort> sort, Integer limit) {
+}
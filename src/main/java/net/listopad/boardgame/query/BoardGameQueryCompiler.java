@@ -0,0 +1,300 @@
+package net.listopad.boardgame.query;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles {@link BoardGameQuery} requests into a single parameterized SELECT.
+ * Only whitelisted columns and operators reach the SQL text; every value is a
+ * bind parameter. Conditions are put in a canonical order so that requests
+ * differing only in filter order or values share SQL text, which is built once
+ * per shape and cached.
+ * <p>
+ * Text matching is done on {@code LOWER(column) LIKE}, which the trigram
+ * indexes from V11 serve for both substring and prefix matches.
+ */
+@Component
+public class BoardGameQueryCompiler {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+    static final int MAX_FILTERS = 16;
+    static final int MAX_SORTS = 3;
+    static final int MAX_IN_VALUES = 100;
+    static final int MAX_CACHED_SHAPES = 1_024;
+
+    private static final String SELECT = "SELECT id, name, description, min_players, max_players, play_time_minutes, " +
+        "image_hash, created_at, updated_at, version FROM board_games";
+
+    private final ConcurrentHashMap<Shape, String> compiled = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public BoardGameQueryCompiler(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("board_games.query.shape_cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("board_games.query.shape_cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("board_games.query.shapes", compiled, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    public CompiledQuery compile(BoardGameQuery query) {
+        List<QueryFilter> filters = query.filters() == null ? List.of() : query.filters();
+        List<QuerySort> sorts = query.sort() == null ? List.of() : query.sort();
+        int limit = query.limit() == null ? DEFAULT_LIMIT : query.limit();
+        if (filters.size() > MAX_FILTERS) {
+            throw new IllegalArgumentException("A query may have at most " + MAX_FILTERS + " filters");
+        }
+        if (sorts.size() > MAX_SORTS) {
+            throw new IllegalArgumentException("A query may have at most " + MAX_SORTS + " sort keys");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<Condition> conditions = new ArrayList<>(filters.size());
+        for (QueryFilter filter : filters) {
+            if (filter == null) {
+                throw new IllegalArgumentException("Filters must not be null");
+            }
+            conditions.add(condition(filter));
+        }
+        conditions.sort(Comparator.comparing(Condition::field).thenComparing(Condition::operator));
+        List<Order> orders = new ArrayList<>(sorts.size());
+        for (QuerySort sort : sorts) {
+            if (sort == null) {
+                throw new IllegalArgumentException("Sort keys must not be null");
+            }
+            orders.add(order(sort));
+        }
+
+        Shape shape = new Shape(conditions.stream().map(Condition::term).toList(), List.copyOf(orders));
+        String sql = compiled.get(shape);
+        boolean cachedShape = sql != null;
+        if (cachedShape) {
+            hits.increment();
+        } else {
+            misses.increment();
+            sql = toSql(shape);
+            // Shapes are bounded by the field and operator combinations in practice; the cap guards against abuse
+            if (compiled.size() < MAX_CACHED_SHAPES) {
+                compiled.putIfAbsent(shape, sql);
+            }
+        }
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (Condition condition : conditions) {
+            for (Object value : condition.values()) {
+                parameters.put("p" + parameters.size(), value);
+            }
+        }
+        parameters.put("limit", limit);
+        return new CompiledQuery(shape.describe(), sql, parameters, cachedShape);
+    }
+
+    int cachedShapes() {
+        return compiled.size();
+    }
+
+    private static String toSql(Shape shape) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        int parameter = 0;
+        for (int i = 0; i < shape.terms().size(); i++) {
+            Term term = shape.terms().get(i);
+            sql.append(i == 0 ? " WHERE " : " AND ");
+            appendCondition(sql, term, parameter);
+            parameter += term.operator().parameters();
+        }
+        sql.append(" ORDER BY ");
+        for (Order order : shape.orders()) {
+            sql.append(order.field().column()).append(order.descending() ? " DESC" : " ASC").append(", ");
+        }
+        boolean descending = !shape.orders().isEmpty() && shape.orders().get(0).descending();
+        sql.append("id").append(descending ? " DESC" : " ASC").append(" LIMIT :limit");
+        return sql.toString();
+    }
+
+    private static void appendCondition(StringBuilder sql, Term term, int parameter) {
+        String first = ":p" + parameter;
+        if (term.field() == QueryField.PLAYERS) {
+            String upper = term.operator() == QueryOperator.BETWEEN ? ":p" + (parameter + 1) : first;
+            sql.append("min_players <= ").append(first).append(" AND max_players >= ").append(upper);
+            return;
+        }
+        String column = term.field().column();
+        switch (term.operator()) {
+            case BETWEEN -> sql.append(column).append(" BETWEEN ").append(first).append(" AND :p").append(parameter + 1);
+            case IN -> sql.append(column).append(" = ANY(").append(first).append(")");
+            case CONTAINS, STARTS_WITH -> sql.append("LOWER(").append(column).append(") LIKE ").append(first);
+            default -> sql.append(column).append(' ').append(term.operator().symbol()).append(' ').append(first);
+        }
+    }
+
+    private static Condition condition(QueryFilter filter) {
+        QueryField field = QueryField.of(filter.field());
+        QueryOperator operator = QueryOperator.of(filter.op());
+        if (!supports(field, operator)) {
+            throw new IllegalArgumentException("Operator '" + operator.operatorName() + "' is not supported for field '"
+                + field.fieldName() + "'");
+        }
+        Object value = filter.value();
+        List<Object> values = switch (operator) {
+            case BETWEEN -> {
+                List<?> bounds = list(field, value);
+                if (bounds.size() != 2) {
+                    throw new IllegalArgumentException("Filter 'between' on '" + field.fieldName() + "' expects [from, to]");
+                }
+                Object from = scalar(field, bounds.get(0));
+                Object to = scalar(field, bounds.get(1));
+                if (isReversed(from, to)) {
+                    throw new IllegalArgumentException("Filter 'between' on '" + field.fieldName()
+                        + "' expects from <= to");
+                }
+                yield List.of(from, to);
+            }
+            case IN -> List.of(array(field, list(field, value)));
+            case CONTAINS -> List.of("%" + likeEscape(text(field, value)) + "%");
+            case STARTS_WITH -> List.of(likeEscape(text(field, value)) + "%");
+            default -> List.of(scalar(field, value));
+        };
+        return new Condition(field, operator, values);
+    }
+
+    private static boolean supports(QueryField field, QueryOperator operator) {
+        if (field == QueryField.PLAYERS) {
+            return operator == QueryOperator.EQ || operator == QueryOperator.BETWEEN;
+        }
+        return switch (operator) {
+            case CONTAINS, STARTS_WITH -> field.type() == QueryField.Type.TEXT;
+            case LT, LTE, GT, GTE, BETWEEN -> field.type() != QueryField.Type.TEXT;
+            case IN -> field.type() != QueryField.Type.TIMESTAMP;
+            case EQ -> true;
+        };
+    }
+
+    private static Order order(QuerySort sort) {
+        QueryField field = QueryField.of(sort.field());
+        if (!field.isSortable()) {
+            throw new IllegalArgumentException("Cannot sort by '" + field.fieldName() + "'");
+        }
+        String direction = sort.direction() == null ? "asc" : sort.direction().toLowerCase(Locale.ROOT);
+        if (!direction.equals("asc") && !direction.equals("desc")) {
+            throw new IllegalArgumentException("Sort direction must be 'asc' or 'desc'");
+        }
+        return new Order(field, direction.equals("desc"));
+    }
+
+    private static Object scalar(QueryField field, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Filter on '" + field.fieldName() + "' needs a value");
+        }
+        return switch (field.type()) {
+            case LONG -> integral(field, value);
+            case INTEGER -> integer(field, value);
+            case TEXT -> text(field, value);
+            case TIMESTAMP -> timestamp(field, value);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isReversed(Object from, Object to) {
+        return ((Comparable<Object>) from).compareTo(to) > 0;
+    }
+
+    private static long integral(QueryField field, Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            return ((Number) value).longValue();
+        }
+        throw new IllegalArgumentException("Filter on '" + field.fieldName() + "' expects a whole number");
+    }
+
+    private static int integer(QueryField field, Object value) {
+        long number = integral(field, value);
+        if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filter on '" + field.fieldName() + "' is out of range");
+        }
+        return (int) number;
+    }
+
+    private static String text(QueryField field, Object value) {
+        if (!(value instanceof String text) || text.isBlank()) {
+            throw new IllegalArgumentException("Filter on '" + field.fieldName() + "' expects non-empty text");
+        }
+        return text.trim();
+    }
+
+    // Accepts an ISO date-time, or a date meaning the start of that day
+    private static LocalDateTime timestamp(QueryField field, Object value) {
+        if (value instanceof String text) {
+            try {
+                return text.length() <= 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text);
+            } catch (DateTimeParseException e) {
+                // Reported below
+            }
+        }
+        throw new IllegalArgumentException("Filter on '" + field.fieldName() + "' expects an ISO date or date-time");
+    }
+
+    private static List<?> list(QueryField field, Object value) {
+        if (!(value instanceof List<?> list) || list.isEmpty()) {
+            throw new IllegalArgumentException("Filter on '" + field.fieldName() + "' expects a non-empty array");
+        }
+        return list;
+    }
+
+    // One array parameter keeps the SQL text the same whatever the number of values
+    private static Object array(QueryField field, List<?> values) {
+        if (values.size() > MAX_IN_VALUES) {
+            throw new IllegalArgumentException("Filter 'in' accepts at most " + MAX_IN_VALUES + " values");
+        }
+        return switch (field.type()) {
+            case LONG -> values.stream().map(value -> integral(field, value)).toArray(Long[]::new);
+            case INTEGER -> values.stream().map(value -> integer(field, value)).toArray(Integer[]::new);
+            default -> values.stream().map(value -> text(field, value)).toArray(String[]::new);
+        };
+    }
+
+    private static String likeEscape(String text) {
+        return text.toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
+
+    private record Condition(QueryField field, QueryOperator operator, List<Object> values) {
+
+        Term term() {
+            return new Term(field, operator);
+        }
+    }
+
+    private record Term(QueryField field, QueryOperator operator) {
+    }
+
+    private record Order(QueryField field, boolean descending) {
+    }
+
+    private record Shape(List<Term> terms, List<Order> orders) {
+
+        String describe() {
+            String where = terms.stream()
+                .map(term -> term.field().fieldName() + " " + term.operator().operatorName())
+                .collect(Collectors.joining(" and "));
+            String orderBy = orders.stream()
+                .map(order -> order.field().fieldName() + (order.descending() ? " desc" : " asc"))
+                .collect(Collectors.joining(", "));
+            return (where.isEmpty() ? "all" : where) + (orderBy.isEmpty() ? "" : " order by " + orderBy);
+        }
+    }
+}
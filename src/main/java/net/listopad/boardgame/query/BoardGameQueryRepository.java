@@ -0,0 +1,30 @@
+package net.listopad.boardgame.query;
+
+import lombok.RequiredArgsConstructor;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.repository.BoardGameRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class BoardGameQueryRepository {
+
+    private static final BoardGameRowMapper ROW_MAPPER = new BoardGameRowMapper();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<BoardGame> find(CompiledQuery query) {
+        return jdbcTemplate.query(query.sql(), new MapSqlParameterSource(query.parameters()), ROW_MAPPER);
+    }
+
+    /**
+     * Plans the query without running it and returns the plan as JSON text.
+     */
+    public String explain(CompiledQuery query) {
+        return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query.sql(),
+            new MapSqlParameterSource(query.parameters()), String.class);
+    }
+}
@@ -0,0 +1,11 @@
+package net.listopad.boardgame.query;
+
+import java.util.Map;
+
+/**
+ * Parameterized SQL for a query. Queries with the same {@code shape} (fields,
+ * operators and sort, regardless of values) get identical SQL text, so the
+ * driver's server-side prepared statements and their plans are reused.
+ */
+public record CompiledQuery(String shape, String sql, Map<String, Object> parameters, boolean cachedShape) {
+}
@@ -0,0 +1,12 @@
+package net.listopad.boardgame.query;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.util.Map;
+
+/**
+ * Diagnostic view of a query: the SQL it compiles to, the bound values and
+ * the Postgres plan as returned by {@code EXPLAIN (FORMAT JSON)}.
+ */
+public record QueryExplanation(String shape, String sql, Map<String, Object> parameters, boolean cachedShape,
+                               @JsonRawValue String plan) {
+}
@@ -0,0 +1,70 @@
+package net.listopad.boardgame.query;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fields a query may filter or sort on, with the column behind each.
+ * {@link #PLAYERS} is virtual: it matches games that support the given
+ * player count (or every count in a range).
+ */
+enum QueryField {
+
+    ID("id", "id", Type.LONG, true),
+    NAME("name", "name", Type.TEXT, true),
+    DESCRIPTION("description", "description", Type.TEXT, false),
+    PLAYERS("players", null, Type.INTEGER, false),
+    MIN_PLAYERS("minPlayers", "min_players", Type.INTEGER, true),
+    MAX_PLAYERS("maxPlayers", "max_players", Type.INTEGER, true),
+    PLAY_TIME_MINUTES("playTimeMinutes", "play_time_minutes", Type.INTEGER, true),
+    CREATED_AT("createdAt", "created_at", Type.TIMESTAMP, true),
+    UPDATED_AT("updatedAt", "updated_at", Type.TIMESTAMP, true);
+
+    enum Type {
+        LONG,
+        INTEGER,
+        TEXT,
+        TIMESTAMP
+    }
+
+    private static final Map<String, QueryField> BY_NAME = Arrays.stream(values())
+        .collect(Collectors.toUnmodifiableMap(field -> field.name, Function.identity()));
+
+    private final String name;
+    private final String column;
+    private final Type type;
+    private final boolean sortable;
+
+    QueryField(String name, String column, Type type, boolean sortable) {
+        this.name = name;
+        this.column = column;
+        this.type = type;
+        this.sortable = sortable;
+    }
+
+    static QueryField of(String name) {
+        QueryField field = name == null ? null : BY_NAME.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown field '" + name + "', expected one of " + BY_NAME.keySet());
+        }
+        return field;
+    }
+
+    String fieldName() {
+        return name;
+    }
+
+    String column() {
+        return column;
+    }
+
+    Type type() {
+        return type;
+    }
+
+    boolean isSortable() {
+        return sortable;
+    }
+}
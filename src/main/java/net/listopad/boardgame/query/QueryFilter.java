@@ -0,0 +1,8 @@
+package net.listopad.boardgame.query;
+
+/**
+ * One condition of a {@link BoardGameQuery}. {@code value} is a single value,
+ * or a two-element array for {@code between} and a list for {@code in}.
+ */
+public record QueryFilter(String field, String op, Object value) {
+}
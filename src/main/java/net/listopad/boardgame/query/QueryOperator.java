@@ -0,0 +1,54 @@
+package net.listopad.boardgame.query;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+enum QueryOperator {
+
+    EQ("eq", "=", 1),
+    LT("lt", "<", 1),
+    LTE("lte", "<=", 1),
+    GT("gt", ">", 1),
+    GTE("gte", ">=", 1),
+    BETWEEN("between", null, 2),
+    IN("in", null, 1),
+    CONTAINS("contains", null, 1),
+    STARTS_WITH("startsWith", null, 1);
+
+    private static final Map<String, QueryOperator> BY_NAME = Arrays.stream(values())
+        .collect(Collectors.toUnmodifiableMap(operator -> operator.name, Function.identity()));
+
+    private final String name;
+    private final String symbol;
+    private final int parameters;
+
+    QueryOperator(String name, String symbol, int parameters) {
+        this.name = name;
+        this.symbol = symbol;
+        this.parameters = parameters;
+    }
+
+    static QueryOperator of(String name) {
+        QueryOperator operator = name == null ? null : BY_NAME.get(name);
+        if (operator == null) {
+            throw new IllegalArgumentException("Unknown operator '" + name + "', expected one of " + BY_NAME.keySet());
+        }
+        return operator;
+    }
+
+    String operatorName() {
+        return name;
+    }
+
+    // Comparison operator for the simple binary operators, null otherwise
+    String symbol() {
+        return symbol;
+    }
+
+    // Bind parameters one condition with this operator takes
+    int parameters() {
+        return parameters;
+    }
+}
@@ -0,0 +1,8 @@
+package net.listopad.boardgame.query;
+
+/**
+ * Sort key of a {@link BoardGameQuery}; {@code direction} is "asc" (the
+ * default) or "desc".
+ */
+public record QuerySort(String field, String direction) {
+}
@@ -5,8 +5,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface BoardGameRepository extends JpaRepository<BoardGame, Long> {
@@ -18,5 +21,13 @@ public interface BoardGameRepository extends JpaRepository<BoardGame, Long> {
     List<BoardGame> findByKeyword(@Param("keyword") String keyword);
     
     List<BoardGame> findByMinPlayersLessThanEqualAndMaxPlayersGreaterThanEqual(Integer maxPlayers, Integer minPlayers);
+    
+    List<BoardGame> findByUpdatedAtGreaterThanEqual(LocalDateTime updatedAt);
+    
+    @Query("SELECT bg.id FROM BoardGame bg")
+    List<Long> findAllIds();
+    
+    @Query("SELECT DISTINCT bg.imageHash FROM BoardGame bg WHERE bg.imageHash IN :hashes")
+    Set<String> findReferencedImageHashes(@Param("hashes") Collection<String> hashes);
 }
 
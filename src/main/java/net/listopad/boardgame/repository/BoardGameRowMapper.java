@@ -0,0 +1,45 @@
+package net.listopad.boardgame.repository;
+
+import net.listopad.boardgame.entity.BoardGame;
+import org.springframework.jdbc.core.RowMapper;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Maps board_games columns for queries that go through JDBC instead of JPA.
+ * An optional prefix selects columns from an aliased projection.
+ */
+public class BoardGameRowMapper implements RowMapper<BoardGame> {
+
+    private final String prefix;
+
+    public BoardGameRowMapper() {
+        this("");
+    }
+
+    public BoardGameRowMapper(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public BoardGame mapRow(ResultSet rs, int rowNum) throws SQLException {
+        BoardGame game = new BoardGame();
+        game.setId(rs.getLong(prefix + "id"));
+        game.setName(rs.getString(prefix + "name"));
+        game.setDescription(rs.getString(prefix + "description"));
+        game.setMinPlayers(rs.getObject(prefix + "min_players", Integer.class));
+        game.setMaxPlayers(rs.getObject(prefix + "max_players", Integer.class));
+        game.setPlayTimeMinutes(rs.getObject(prefix + "play_time_minutes", Integer.class));
+        game.setImageHash(rs.getString(prefix + "image_hash"));
+        game.setCreatedAt(toLocalDateTime(rs.getTimestamp(prefix + "created_at")));
+        game.setUpdatedAt(toLocalDateTime(rs.getTimestamp(prefix + "updated_at")));
+        game.setVersion(rs.getLong(prefix + "version"));
+        return game;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
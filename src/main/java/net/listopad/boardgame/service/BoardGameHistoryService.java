@@ -0,0 +1,30 @@
+package net.listopad.boardgame.service;
+
+import lombok.RequiredArgsConstructor;
+import net.listopad.boardgame.history.BoardGameHistoryEntry;
+import net.listopad.boardgame.history.BoardGameHistoryPage;
+import net.listopad.boardgame.history.BoardGameHistoryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class BoardGameHistoryService {
+
+    private final BoardGameHistoryRepository historyRepository;
+
+    public BoardGameHistoryPage getHistory(Long boardGameId, Long before, int limit) {
+        if (limit < 1 || limit > 200) {
+            throw new IllegalArgumentException("Limit must be between 1 and 200");
+        }
+        // Fetch one extra row to know whether another page exists
+        List<BoardGameHistoryEntry> entries = historyRepository.findByBoardGameId(boardGameId, before, limit + 1);
+        if (entries.size() <= limit) {
+            return new BoardGameHistoryPage(entries, null);
+        }
+        List<BoardGameHistoryEntry> page = entries.subList(0, limit);
+        return new BoardGameHistoryPage(List.copyOf(page), page.get(limit - 1).id());
+    }
+}
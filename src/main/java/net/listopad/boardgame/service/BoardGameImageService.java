@@ -0,0 +1,85 @@
+package net.listopad.boardgame.service;
+
+import lombok.RequiredArgsConstructor;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.image.ContentAddressedImageStore;
+import net.listopad.boardgame.image.ImageFile;
+import net.listopad.boardgame.image.ImageGarbageCollector;
+import net.listopad.boardgame.image.ThumbnailGenerator;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class BoardGameImageService {
+
+    private final BoardGameService boardGameService;
+    private final ContentAddressedImageStore imageStore;
+    private final ThumbnailGenerator thumbnailGenerator;
+
+    /**
+     * Stores the image and points the game at it. Returns empty if the game
+     * does not exist; nothing is written in that case. The file is stored
+     * before the game is updated, so a failed update or a replaced image
+     * leaves a file behind that {@link ImageGarbageCollector} removes.
+     */
+    public Optional<BoardGame> uploadImage(Long id, InputStream content) throws IOException {
+        if (boardGameService.getBoardGameById(id).isEmpty()) {
+            return Optional.empty();
+        }
+        String hash = imageStore.store(content);
+        Optional<BoardGame> updated = boardGameService.updateImageHash(id, hash);
+        if (updated.isPresent()) {
+            // The garbage collector may have trashed existing content between store and update
+            imageStore.restore(hash);
+            thumbnailGenerator.request(hash);
+        }
+        return updated;
+    }
+
+    /**
+     * The current image of a game. Its content can change, so it is served
+     * for revalidation; the hash-addressed variant is the cacheable one.
+     */
+    public Optional<ImageFile> findImage(Long id, boolean thumbnail) throws IOException {
+        Optional<String> hash = boardGameService.getBoardGameById(id).map(BoardGame::getImageHash);
+        if (hash.isEmpty()) {
+            return Optional.empty();
+        }
+        return findImage(hash.get(), thumbnail, false);
+    }
+
+    public Optional<ImageFile> findImageByHash(String hash, boolean thumbnail) throws IOException {
+        return findImage(hash, thumbnail, true);
+    }
+
+    private Optional<ImageFile> findImage(String hash, boolean thumbnail, boolean immutable) throws IOException {
+        Optional<Path> original = imageStore.find(hash);
+        if (original.isEmpty()) {
+            // Trashed by the garbage collector while a game was being pointed at it
+            original = imageStore.restore(hash);
+        }
+        if (original.isEmpty()) {
+            return Optional.empty();
+        }
+        if (thumbnail) {
+            Path thumbnailPath = imageStore.thumbnailPath(hash);
+            if (Files.exists(thumbnailPath)) {
+                return Optional.of(new ImageFile(thumbnailPath, MediaType.IMAGE_JPEG, eTag(hash + "-thumb"), immutable));
+            }
+            // Serve the original until the thumbnail exists, but never let it be cached as the thumbnail
+            thumbnailGenerator.request(hash);
+            return Optional.of(new ImageFile(original.get(), imageStore.mediaTypeOf(original.get()), eTag(hash), false));
+        }
+        return Optional.of(new ImageFile(original.get(), imageStore.mediaTypeOf(original.get()), eTag(hash), immutable));
+    }
+
+    private static String eTag(String value) {
+        return "\"" + value + "\"";
+    }
+}
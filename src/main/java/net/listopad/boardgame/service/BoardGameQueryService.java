@@ -0,0 +1,31 @@
+package net.listopad.boardgame.service;
+
+import lombok.RequiredArgsConstructor;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.query.BoardGameQuery;
+import net.listopad.boardgame.query.BoardGameQueryCompiler;
+import net.listopad.boardgame.query.BoardGameQueryRepository;
+import net.listopad.boardgame.query.CompiledQuery;
+import net.listopad.boardgame.query.QueryExplanation;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class BoardGameQueryService {
+
+    private final BoardGameQueryCompiler compiler;
+    private final BoardGameQueryRepository queryRepository;
+
+    public List<BoardGame> query(BoardGameQuery query) {
+        return queryRepository.find(compiler.compile(query));
+    }
+
+    public QueryExplanation explain(BoardGameQuery query) {
+        CompiledQuery compiled = compiler.compile(query);
+        return new QueryExplanation(compiled.shape(), compiled.sql(), compiled.parameters(), compiled.cachedShape(),
+            queryRepository.explain(compiled));
+    }
+}
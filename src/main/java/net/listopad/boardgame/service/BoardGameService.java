@@ -1,34 +1,97 @@
 package net.listopad.boardgame.service;
 
+import net.listopad.boardgame.cache.BoardGameNearCache;
+import net.listopad.boardgame.cache.SearchKey;
+import net.listopad.boardgame.cache.SearchResultCache;
+import net.listopad.boardgame.deadline.RequestDeadlineHolder;
 import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+import net.listopad.boardgame.exception.ConflictException;
+import net.listopad.boardgame.exception.PreconditionFailedException;
+import net.listopad.boardgame.index.BoardGameSimilarityIndex;
 import net.listopad.boardgame.repository.BoardGameRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class BoardGameService {
     
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+    
     private final BoardGameRepository boardGameRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final BoardGameNearCache nearCache;
+    private final SearchResultCache searchResultCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoardGameSimilarityIndex similarityIndex;
+    private final TransactionTemplate transactionTemplate;
     
+    // Reads run outside a service transaction: the repository call takes a connection only for the query
+    // itself, so coalesced followers and cache hits never hold one
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<BoardGame> getAllBoardGames() {
+        RequestDeadlineHolder.check("findAll");
         return boardGameRepository.findAll();
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<BoardGame> getBoardGameById(Long id) {
-        return boardGameRepository.findById(id);
+        return nearCache.get(id, () -> requestCoalescer.execute("findById", id, () -> boardGameRepository.findById(id)));
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<BoardGame> getBoardGameByName(String name) {
         return boardGameRepository.findByName(name);
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<BoardGame> searchBoardGames(String keyword) {
-        return boardGameRepository.findByKeyword(keyword);
+        SearchKey key = SearchKey.of(keyword);
+        String trimmedKeyword = keyword.trim();
+        return searchResultCache.get(key,
+            () -> requestCoalescer.execute("findByKeyword", key, () -> {
+                RequestDeadlineHolder.check("findByKeyword");
+                return boardGameRepository.findByKeyword(trimmedKeyword);
+            }));
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<List<BoardGame>> findSimilarBoardGames(Long id, int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
+        long[] similarIds = similarityIndex.findSimilar(id, limit);
+        if (similarIds == null) {
+            // Not indexed yet, e.g. created on another node moments ago
+            Optional<BoardGame> game = getBoardGameById(id);
+            if (game.isEmpty()) {
+                return Optional.empty();
+            }
+            similarityIndex.upsert(game.get());
+            similarIds = similarityIndex.findSimilar(id, limit);
+        }
+        List<Long> ids = Arrays.stream(similarIds).boxed().toList();
+        // Cached games are served locally; only the rest cost a (single) round trip
+        Map<Long, BoardGame> games = nearCache.getAll(ids, boardGameRepository::findAllById);
+        return Optional.of(ids.stream()
+            .map(games::get)
+            .filter(Objects::nonNull)
+            .toList());
     }
     
     public BoardGame createBoardGame(BoardGame create) {
@@ -37,12 +100,48 @@ public class BoardGameService {
             throw new IllegalArgumentException("Board game with name '" + create.getName() + "' already exists");
         }
         
-        return boardGameRepository.save(create);
+        BoardGame created = boardGameRepository.save(create);
+        eventPublisher.publishEvent(BoardGameChangedEvent.local(created, ChangeType.CREATED));
+        return created;
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<BoardGame> updateBoardGame(Long id, BoardGame update) {
+        return updateBoardGame(id, update, null);
+    }
+    
+    /**
+     * Applies the non-null fields of {@code update}. The version check is part of
+     * the UPDATE statement itself, so no row lock is held while deciding. With an
+     * expected version (If-Match) any mismatch fails with a precondition error.
+     * Without one the row first read is taken as the state the client based its
+     * change on: a concurrent write is retried on the latest row only if it left
+     * the client's fields alone, and fails with a conflict otherwise.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<BoardGame> updateBoardGame(Long id, BoardGame update, Long expectedVersion) {
+        AtomicReference<BoardGame> base = new AtomicReference<>();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyUpdate(id, update, expectedVersion, base));
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    throw new PreconditionFailedException("Board game " + id + " has been modified since version " + expectedVersion);
+                }
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private Optional<BoardGame> applyUpdate(Long id, BoardGame update, Long expectedVersion, AtomicReference<BoardGame> base) {
         return boardGameRepository.findById(id)
             .map(existingGame -> {
+                checkVersion(existingGame, expectedVersion);
+                if (!base.compareAndSet(null, snapshot(existingGame))) {
+                    checkNoOverlap(base.get(), existingGame, update);
+                }
                 if (update.getName() != null) {
                     // Check if another game with this name exists
                     Optional<BoardGame> gameWithSameName = boardGameRepository.findByName(update.getName());
@@ -64,15 +163,84 @@ public class BoardGameService {
                     existingGame.setPlayTimeMinutes(update.getPlayTimeMinutes());
                 }
                 
-                return boardGameRepository.save(existingGame);
+                BoardGame updated = boardGameRepository.save(existingGame);
+                eventPublisher.publishEvent(BoardGameChangedEvent.local(updated, ChangeType.UPDATED));
+                return updated;
+            });
+    }
+    
+    private static BoardGame snapshot(BoardGame game) {
+        BoardGame snapshot = new BoardGame(game.getName(), game.getDescription(), game.getMinPlayers(),
+            game.getMaxPlayers(), game.getPlayTimeMinutes());
+        snapshot.setId(game.getId());
+        snapshot.setVersion(game.getVersion());
+        return snapshot;
+    }
+    
+    // A field the client sets overlaps when another writer changed it since the base read, to a different value
+    private static void checkNoOverlap(BoardGame base, BoardGame latest, BoardGame update) {
+        List<String> overlapping = new ArrayList<>();
+        addIfOverlapping(overlapping, "name", update.getName(), base.getName(), latest.getName());
+        addIfOverlapping(overlapping, "description", update.getDescription(), base.getDescription(), latest.getDescription());
+        addIfOverlapping(overlapping, "minPlayers", update.getMinPlayers(), base.getMinPlayers(), latest.getMinPlayers());
+        addIfOverlapping(overlapping, "maxPlayers", update.getMaxPlayers(), base.getMaxPlayers(), latest.getMaxPlayers());
+        addIfOverlapping(overlapping, "playTimeMinutes", update.getPlayTimeMinutes(), base.getPlayTimeMinutes(),
+            latest.getPlayTimeMinutes());
+        if (!overlapping.isEmpty()) {
+            throw new ConflictException("Board game " + base.getId() + " was concurrently changed from version "
+                + base.getVersion() + " to " + latest.getVersion() + " in " + String.join(", ", overlapping));
+        }
+    }
+    
+    private static void addIfOverlapping(List<String> overlapping, String field, Object requested, Object base, Object latest) {
+        if (requested != null && !Objects.equals(base, latest) && !Objects.equals(requested, latest)) {
+            overlapping.add(field);
+        }
+    }
+    
+    public Optional<BoardGame> updateImageHash(Long id, String imageHash) {
+        return boardGameRepository.findById(id)
+            .map(existingGame -> {
+                existingGame.setImageHash(imageHash);
+                BoardGame updated = boardGameRepository.save(existingGame);
+                eventPublisher.publishEvent(BoardGameChangedEvent.local(updated, ChangeType.UPDATED));
+                return updated;
             });
     }
     
     public boolean deleteBoardGame(Long id) {
         if (boardGameRepository.existsById(id)) {
             boardGameRepository.deleteById(id);
+            eventPublisher.publishEvent(BoardGameChangedEvent.local(id, ChangeType.DELETED));
             return true;
         }
         return false;
     }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean deleteBoardGame(Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> deleteBoardGame(id)));
+        }
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> boardGameRepository.findById(id)
+                .map(existingGame -> {
+                    checkVersion(existingGame, expectedVersion);
+                    // Deleting the entity (not the id) makes the DELETE statement check the version too
+                    boardGameRepository.delete(existingGame);
+                    eventPublisher.publishEvent(BoardGameChangedEvent.local(id, ChangeType.DELETED));
+                    return true;
+                })
+                .orElse(false)));
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException("Board game " + id + " has been modified since version " + expectedVersion);
+        }
+    }
+    
+    private static void checkVersion(BoardGame existingGame, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(existingGame.getVersion())) {
+            throw new PreconditionFailedException("Board game " + existingGame.getId() + " is at version "
+                + existingGame.getVersion() + ", not " + expectedVersion);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package net.listopad.boardgame.service;
+
+import lombok.RequiredArgsConstructor;
+import net.listopad.boardgame.stats.CatalogStatsRefresher;
+import net.listopad.boardgame.stats.CatalogStatsResponse;
+import org.springframework.stereotype.Service;
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class CatalogStatsService {
+
+    private final CatalogStatsRefresher statsRefresher;
+
+    public CatalogStatsResponse getStats() {
+        return CatalogStatsResponse.of(statsRefresher.current(), statsRefresher.getWritesSinceRefresh(), Instant.now());
+    }
+}
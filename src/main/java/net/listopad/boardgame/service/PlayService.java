@@ -0,0 +1,98 @@
+package net.listopad.boardgame.service;
+
+import lombok.RequiredArgsConstructor;
+import net.listopad.boardgame.config.PlaysProperties;
+import net.listopad.boardgame.config.PlaysProperties.AckMode;
+import net.listopad.boardgame.plays.PlayCount;
+import net.listopad.boardgame.plays.PlayIngestResult;
+import net.listopad.boardgame.plays.PlayIngestor;
+import net.listopad.boardgame.plays.PlayRecord;
+import net.listopad.boardgame.plays.PlayRepository;
+import net.listopad.boardgame.plays.PlayRequest;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+public class PlayService {
+
+    // Postgres cannot store every date Jackson parses (e.g. year 0 or earlier), and none that old is a real play
+    static final int MIN_PLAY_YEAR = 1900;
+
+    private final BoardGameService boardGameService;
+    private final PlayIngestor playIngestor;
+    private final PlayRepository playRepository;
+    private final PlaysProperties properties;
+
+    /**
+     * Validates and buffers plays for a game. Returns empty if the game does
+     * not exist. With {@link AckMode#FLUSHED} this waits until the plays are
+     * written or the flush timeout passes, whichever comes first.
+     */
+    public Optional<PlayIngestResult> recordPlays(Long boardGameId, List<PlayRequest> requests) {
+        if (requests.isEmpty() || requests.size() > properties.getMaxPlaysPerRequest()) {
+            throw new IllegalArgumentException("A request must contain between 1 and "
+                + properties.getMaxPlaysPerRequest() + " plays");
+        }
+        // Served by the near cache, so checking the game is cheap even at high volume
+        if (boardGameService.getBoardGameById(boardGameId).isEmpty()) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate latestPlayDate = now.toLocalDate().plusDays(1);
+        List<PlayRecord> plays = new ArrayList<>(requests.size());
+        for (PlayRequest request : requests) {
+            if (request.playedOn() == null || request.playedOn().getYear() < MIN_PLAY_YEAR
+                || request.playedOn().isAfter(latestPlayDate)) {
+                throw new IllegalArgumentException("playedOn is required, must not be before " + MIN_PLAY_YEAR
+                    + " and must not be in the future");
+            }
+            if (request.playerCount() == null || request.playerCount() < 1) {
+                throw new IllegalArgumentException("playerCount must be at least 1");
+            }
+            if (request.durationMinutes() != null && request.durationMinutes() < 0) {
+                throw new IllegalArgumentException("durationMinutes must not be negative");
+            }
+            plays.add(new PlayRecord(boardGameId, request.playedOn(), request.playerCount(),
+                request.durationMinutes(), request.userId(), now));
+        }
+
+        CompletableFuture<Void> written = playIngestor.submit(plays);
+        if (properties.getAckMode() == AckMode.BUFFERED) {
+            return Optional.of(new PlayIngestResult(plays.size(), false));
+        }
+        playIngestor.flushSoon();
+        return Optional.of(new PlayIngestResult(plays.size(), awaitFlush(written)));
+    }
+
+    public Optional<PlayCount> getPlayCount(Long boardGameId) {
+        if (boardGameService.getBoardGameById(boardGameId).isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(playRepository.findCount(boardGameId)
+            .orElse(new PlayCount(boardGameId, 0, 0, null)));
+    }
+
+    private boolean awaitFlush(CompletableFuture<Void> written) {
+        try {
+            written.get(properties.getFlushTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            // Still buffered and will be written; report it as accepted rather than created
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+}
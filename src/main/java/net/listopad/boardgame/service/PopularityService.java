@@ -0,0 +1,35 @@
+package net.listopad.boardgame.service;
+
+import lombok.RequiredArgsConstructor;
+import net.listopad.boardgame.popularity.TrendingGame;
+import net.listopad.boardgame.popularity.TrendingTracker;
+import net.listopad.boardgame.popularity.ViewCounter;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PopularityService {
+
+    private final BoardGameService boardGameService;
+    private final ViewCounter viewCounter;
+    private final TrendingTracker trendingTracker;
+
+    public void recordView(Long id) {
+        viewCounter.recordView(id);
+    }
+
+    public List<TrendingGame> getTrending(int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
+        List<TrendingGame> trending = new ArrayList<>(limit);
+        // Trending games are hot by definition, so these are near-cache hits
+        for (TrendingTracker.Entry entry : trendingTracker.top(limit)) {
+            boardGameService.getBoardGameById(entry.id())
+                .ifPresent(game -> trending.add(new TrendingGame(game, entry.score())));
+        }
+        return trending;
+    }
+}
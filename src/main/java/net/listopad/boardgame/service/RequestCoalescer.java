@@ -0,0 +1,141 @@
+package net.listopad.boardgame.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.listopad.boardgame.deadline.RequestDeadline;
+import net.listopad.boardgame.deadline.RequestDeadlineHolder;
+import net.listopad.boardgame.exception.DeadlineExceededException;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical reads: while a call for a key is in
+ * flight, further callers for the same key wait for and share its result
+ * instead of issuing their own query. A waiting caller gives up at its own
+ * request deadline rather than the leader's.
+ * <p>
+ * The leader's deadline never decides the outcome for anyone else: when the
+ * shared load fails after the leader's deadline has passed, the waiting
+ * callers are told to retry, and one of them runs the load again as the new
+ * leader under its own deadline.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("board_games.coalescing.requests", executed, LongAdder::sum)
+            .tag("role", "leader")
+            .register(meterRegistry);
+        FunctionCounter.builder("board_games.coalescing.requests", shared, LongAdder::sum)
+            .tag("role", "follower")
+            .register(meterRegistry);
+        Gauge.builder("board_games.coalescing.ratio", this, RequestCoalescer::coalescingRatio)
+            .register(meterRegistry);
+        Gauge.builder("board_games.coalescing.in_flight", inFlight, ConcurrentHashMap::size)
+            .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        Key flightKey = new Key(operation, key);
+        boolean following = false;
+        while (true) {
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+            if (existing == null) {
+                if (following) {
+                    shared.decrement();
+                }
+                executed.increment();
+                return lead(flightKey, flight, loader);
+            }
+            if (!following) {
+                shared.increment();
+                following = true;
+            }
+            try {
+                return (T) await(existing);
+            } catch (LeaderDeadlineExceededException e) {
+                // The leader ran out of time, not this caller; try again, leading if nobody else does
+            }
+        }
+    }
+
+    /**
+     * Share of calls that were served by another caller's query.
+     */
+    public double coalescingRatio() {
+        long sharedCalls = shared.sum();
+        long total = sharedCalls + executed.sum();
+        return total == 0 ? 0.0 : (double) sharedCalls / total;
+    }
+
+    // The flight is removed before it completes, so a follower retrying after a failure never finds it again
+    private <T> T lead(Key flightKey, CompletableFuture<Object> flight, Supplier<T> loader) {
+        try {
+            T result = loader.get();
+            inFlight.remove(flightKey, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(flightKey, flight);
+            RequestDeadline deadline = RequestDeadlineHolder.current();
+            flight.completeExceptionally(deadline != null && deadline.isExpired()
+                ? new LeaderDeadlineExceededException() : e);
+            throw e;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        RequestDeadline deadline = RequestDeadlineHolder.current();
+        if (deadline == null) {
+            try {
+                return flight.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause(), e);
+            }
+        }
+        try {
+            return flight.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline exceeded waiting for a coalesced read");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Interrupted waiting for a coalesced read");
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause(), new CompletionException(e.getCause()));
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause, RuntimeException fallback) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return fallback;
+    }
+
+    private record Key(String operation, Object value) {
+    }
+
+    private static final class LeaderDeadlineExceededException extends RuntimeException {
+
+        LeaderDeadlineExceededException() {
+            super("Deadline of the coalesced read's leader exceeded", null, false, false);
+        }
+    }
+}
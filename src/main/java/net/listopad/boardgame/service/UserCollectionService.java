@@ -0,0 +1,48 @@
+package net.listopad.boardgame.service;
+
+import lombok.RequiredArgsConstructor;
+import net.listopad.boardgame.collection.AddOutcome;
+import net.listopad.boardgame.collection.CollectionEntry;
+import net.listopad.boardgame.collection.CollectionFilter;
+import net.listopad.boardgame.collection.UserCollectionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class UserCollectionService {
+
+    static final int MAX_LIMIT = 500;
+
+    private final UserCollectionRepository collectionRepository;
+
+    @Transactional(readOnly = true)
+    public List<CollectionEntry> getCollection(Long userId, String keyword, Integer players,
+                                               Integer maxPlayTimeMinutes, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (players != null && players < 1) {
+            throw new IllegalArgumentException("Players must be at least 1");
+        }
+        if (maxPlayTimeMinutes != null && maxPlayTimeMinutes < 1) {
+            throw new IllegalArgumentException("Max play time must be at least 1 minute");
+        }
+        String normalizedKeyword = keyword == null || keyword.isBlank() ? null : keyword.trim().toLowerCase(Locale.ROOT);
+        return collectionRepository.find(userId, new CollectionFilter(normalizedKeyword, players, maxPlayTimeMinutes, limit));
+    }
+
+    public AddOutcome addGame(Long userId, Long boardGameId) {
+        if (collectionRepository.add(userId, boardGameId)) {
+            return AddOutcome.ADDED;
+        }
+        return collectionRepository.contains(userId, boardGameId) ? AddOutcome.ALREADY_PRESENT : AddOutcome.GAME_NOT_FOUND;
+    }
+
+    public boolean removeGame(Long userId, Long boardGameId) {
+        return collectionRepository.remove(userId, boardGameId);
+    }
+}
@@ -0,0 +1,280 @@
+package net.listopad.boardgame.snapshot;
+
+import net.listopad.boardgame.entity.BoardGame;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only, memory-mapped view of a catalog snapshot. The file is mapped
+ * outside the Java heap and records are decoded on demand, one at a time.
+ *
+ * <pre>
+ * header:  magic int, format int, watermark long (epoch micros), count int, crc32 int
+ * index:   count x (id long, record offset int), sorted by id
+ * records: id long, version long, min/max players int, play time int (-1 = null),
+ *          created/updated at long (Long.MIN_VALUE = null), name, description,
+ *          image hash (int byte length, -1 = null, then UTF-8)
+ * </pre>
+ */
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x42475331;
+    static final int FORMAT = 2;
+    static final int HEADER_BYTES = 24;
+    static final int INDEX_ENTRY_BYTES = 12;
+    static final int RECORD_FIXED_BYTES = 44;
+
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final int NO_VALUE = -1;
+
+    private final ByteBuffer buffer;
+    private final LocalDateTime watermark;
+    private final int count;
+
+    private CatalogSnapshot(ByteBuffer buffer, LocalDateTime watermark, int count) {
+        this.buffer = buffer;
+        this.watermark = watermark;
+        this.count = count;
+    }
+
+    /**
+     * Maps and verifies a snapshot file.
+     *
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot: " + path);
+        }
+        if (buffer.getInt(4) != FORMAT) {
+            throw new IOException("Unsupported snapshot format " + buffer.getInt(4) + ": " + path);
+        }
+        int count = buffer.getInt(16);
+        if (count < 0 || HEADER_BYTES + (long) count * INDEX_ENTRY_BYTES > buffer.capacity()) {
+            throw new IOException("Corrupt snapshot index: " + path);
+        }
+        if (crc(buffer) != buffer.getInt(20)) {
+            throw new IOException("Snapshot checksum mismatch: " + path);
+        }
+        return new CatalogSnapshot(buffer, fromMicros(buffer.getLong(8)), count);
+    }
+
+    /**
+     * Writes a snapshot to a temporary file and moves it into place, so
+     * readers never see a partially written file. Games are streamed twice,
+     * once to size the file and once to write it through a mapping, so a
+     * lazily decoded catalog is never held on the heap as a whole; only a
+     * collection not already in id order is copied and sorted first.
+     */
+    public static void write(Path path, Collection<BoardGame> games, LocalDateTime watermark) throws IOException {
+        int count = games.size();
+        long[] ids = new long[count];
+        int[] recordLengths = new int[count];
+        long recordBytes = 0;
+        int i = 0;
+        for (BoardGame game : games) {
+            ids[i] = game.getId();
+            if (i > 0 && ids[i] < ids[i - 1]) {
+                List<BoardGame> sorted = new ArrayList<>(games);
+                sorted.sort(Comparator.comparing(BoardGame::getId));
+                write(path, sorted, watermark);
+                return;
+            }
+            recordLengths[i] = RECORD_FIXED_BYTES + length(utf8(game.getName())) + length(utf8(game.getDescription()))
+                + length(utf8(game.getImageHash()));
+            recordBytes += recordLengths[i];
+            i++;
+        }
+        long total = HEADER_BYTES + (long) count * INDEX_ENTRY_BYTES + recordBytes;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Catalog is too large for a single snapshot file: " + total + " bytes");
+        }
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, total);
+            out.putInt(MAGIC).putInt(FORMAT).putLong(toMicros(watermark)).putInt(count).putInt(0);
+            int offset = HEADER_BYTES + count * INDEX_ENTRY_BYTES;
+            for (int j = 0; j < count; j++) {
+                out.putLong(ids[j]).putInt(offset);
+                offset += recordLengths[j];
+            }
+            int j = 0;
+            for (BoardGame game : games) {
+                if (j >= count || game.getId() != ids[j]) {
+                    throw new IOException("Catalog changed while writing the snapshot");
+                }
+                out.putLong(game.getId());
+                out.putLong(game.getVersion() == null ? 0 : game.getVersion());
+                out.putInt(orNoValue(game.getMinPlayers()));
+                out.putInt(orNoValue(game.getMaxPlayers()));
+                out.putInt(orNoValue(game.getPlayTimeMinutes()));
+                out.putLong(toMicros(game.getCreatedAt()));
+                out.putLong(toMicros(game.getUpdatedAt()));
+                putBytes(out, utf8(game.getName()));
+                putBytes(out, utf8(game.getDescription()));
+                putBytes(out, utf8(game.getImageHash()));
+                j++;
+            }
+            out.putInt(20, crc(out));
+            out.force();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Latest {@code updated_at} contained in the snapshot; anything changed
+     * after it has to be read from the database.
+     */
+    public LocalDateTime watermark() {
+        return watermark;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Looks a record up by binary search over the offset index, or returns
+     * null if the id is not in the snapshot.
+     */
+    public BoardGame get(long id) {
+        int position = positionOf(id);
+        return position < 0 ? null : readAt(position);
+    }
+
+    public boolean contains(long id) {
+        return positionOf(id) >= 0;
+    }
+
+    public void forEach(Consumer<BoardGame> action) {
+        for (int i = 0; i < count; i++) {
+            action.accept(readAt(i));
+        }
+    }
+
+    /**
+     * Id of the record at {@code position} in the id-ordered index; reading it
+     * decodes nothing else.
+     */
+    long idAt(int position) {
+        return buffer.getLong(HEADER_BYTES + position * INDEX_ENTRY_BYTES);
+    }
+
+    BoardGame readAt(int position) {
+        return read(buffer.getInt(HEADER_BYTES + position * INDEX_ENTRY_BYTES + 8));
+    }
+
+    private int positionOf(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private BoardGame read(int offset) {
+        BoardGame game = new BoardGame();
+        game.setId(buffer.getLong(offset));
+        game.setVersion(buffer.getLong(offset + 8));
+        game.setMinPlayers(fromNoValue(buffer.getInt(offset + 16)));
+        game.setMaxPlayers(fromNoValue(buffer.getInt(offset + 20)));
+        game.setPlayTimeMinutes(fromNoValue(buffer.getInt(offset + 24)));
+        game.setCreatedAt(fromMicros(buffer.getLong(offset + 28)));
+        game.setUpdatedAt(fromMicros(buffer.getLong(offset + 36)));
+        int position = offset + 44;
+        int nameLength = buffer.getInt(position);
+        game.setName(readString(position + 4, nameLength));
+        position += 4 + Math.max(nameLength, 0);
+        int descriptionLength = buffer.getInt(position);
+        game.setDescription(readString(position + 4, descriptionLength));
+        position += 4 + Math.max(descriptionLength, 0);
+        game.setImageHash(readString(position + 4, buffer.getInt(position)));
+        return game;
+    }
+
+    private String readString(int offset, int length) {
+        if (length == NO_VALUE) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_BYTES, buffer.capacity() - HEADER_BYTES));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 4 : 4 + bytes.length;
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(NO_VALUE);
+        } else {
+            out.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static int orNoValue(Integer value) {
+        return value == null ? NO_VALUE : value;
+    }
+
+    private static Integer fromNoValue(int value) {
+        return value == NO_VALUE ? null : value;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time == null ? NO_TIMESTAMP : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000,
+            ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,165 @@
+package net.listopad.boardgame.snapshot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.SnapshotProperties;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.repository.BoardGameRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Loads the full catalog for in-memory read models. With a snapshot on disk
+ * only the rows changed since its watermark and the list of ids are read from
+ * the database; without one the whole table is read once and a snapshot is
+ * written for the next start. Snapshots are also rewritten periodically and
+ * on shutdown, each time from the previous snapshot plus the changes since.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotLoader {
+
+    private final BoardGameRepository boardGameRepository;
+    private final SnapshotProperties properties;
+    private final Timer snapshotLoadTimer;
+    private final Timer databaseLoadTimer;
+
+    public CatalogSnapshotLoader(BoardGameRepository boardGameRepository, SnapshotProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.boardGameRepository = boardGameRepository;
+        this.properties = properties;
+        this.snapshotLoadTimer = Timer.builder("board_games.snapshot.load").tag("source", "snapshot").register(meterRegistry);
+        this.databaseLoadTimer = Timer.builder("board_games.snapshot.load").tag("source", "database").register(meterRegistry);
+    }
+
+    /**
+     * Returns the current catalog. When it comes from a snapshot, records are
+     * decoded from the mapped file while the collection is iterated and only
+     * the rows changed since the snapshot are held on the heap.
+     */
+    public synchronized Collection<BoardGame> loadCatalog() {
+        if (!properties.isEnabled()) {
+            return boardGameRepository.findAll();
+        }
+        CatalogSnapshot snapshot = openSnapshot();
+        if (snapshot == null) {
+            List<BoardGame> games = databaseLoadTimer.record(() -> boardGameRepository.findAll());
+            writeSnapshot(games);
+            return games;
+        }
+        return snapshotLoadTimer.record(() -> replay(snapshot));
+    }
+
+    @Scheduled(fixedDelayString = "${board-games.snapshot.write-interval:10m}",
+               initialDelayString = "${board-games.snapshot.write-interval:10m}")
+    public synchronized void scheduledWrite() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        CatalogSnapshot snapshot = openSnapshot();
+        if (snapshot == null) {
+            loadCatalog();
+        } else {
+            SnapshotCatalog catalog = replay(snapshot);
+            writeSnapshot(catalog, catalog.watermark());
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            scheduledWrite();
+        } catch (RuntimeException e) {
+            log.warn("Could not write catalog snapshot on shutdown", e);
+        }
+    }
+
+    private SnapshotCatalog replay(CatalogSnapshot snapshot) {
+        long start = System.nanoTime();
+        LocalDateTime since = snapshot.watermark().minus(properties.getReplayOverlap());
+        List<BoardGame> changedRows = boardGameRepository.findByUpdatedAtGreaterThanEqual(since);
+        NavigableMap<Long, BoardGame> changed = new TreeMap<>();
+        changedRows.forEach(game -> changed.put(game.getId(), game));
+
+        // Deletes leave no row behind, so reconcile against the ids that still exist
+        long[] liveIds = boardGameRepository.findAllIds().stream().mapToLong(Long::longValue).sorted().toArray();
+        changed.keySet().removeIf(id -> Arrays.binarySearch(liveIds, id) < 0);
+        Set<Long> deleted = new HashSet<>();
+        List<Long> missing = new ArrayList<>();
+        int live = 0;
+        for (int position = 0; position < snapshot.size() || live < liveIds.length; ) {
+            long snapshotId = position < snapshot.size() ? snapshot.idAt(position) : Long.MAX_VALUE;
+            long liveId = live < liveIds.length ? liveIds[live] : Long.MAX_VALUE;
+            if (snapshotId == liveId) {
+                position++;
+                live++;
+            } else if (snapshotId < liveId) {
+                if (!changed.containsKey(snapshotId)) {
+                    deleted.add(snapshotId);
+                }
+                position++;
+            } else {
+                if (!changed.containsKey(liveId)) {
+                    missing.add(liveId);
+                }
+                live++;
+            }
+        }
+        if (!missing.isEmpty()) {
+            boardGameRepository.findAllById(missing).forEach(game -> changed.put(game.getId(), game));
+        }
+
+        SnapshotCatalog catalog = new SnapshotCatalog(snapshot, changed, deleted);
+        log.info("Loaded {} games from snapshot (watermark {}), replayed {} changed, {} deleted, {} missing in {} ms",
+            snapshot.size(), snapshot.watermark(), changedRows.size(), deleted.size(), missing.size(),
+            (System.nanoTime() - start) / 1_000_000);
+        return catalog;
+    }
+
+    // A snapshot without a watermark has nothing to replay from, so it is treated as missing
+    private CatalogSnapshot openSnapshot() {
+        try {
+            CatalogSnapshot snapshot = CatalogSnapshot.open(properties.getPath());
+            return snapshot.watermark() == null ? null : snapshot;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}", properties.getPath(), e);
+            return null;
+        }
+    }
+
+    private void writeSnapshot(List<BoardGame> games) {
+        writeSnapshot(games, games.stream()
+            .map(BoardGame::getUpdatedAt)
+            .filter(Objects::nonNull)
+            .max(LocalDateTime::compareTo)
+            .orElse(null));
+    }
+
+    private void writeSnapshot(Collection<BoardGame> games, LocalDateTime watermark) {
+        try {
+            CatalogSnapshot.write(properties.getPath(), games, watermark);
+            log.debug("Wrote catalog snapshot with {} games to {}", games.size(), properties.getPath());
+        } catch (IOException e) {
+            log.warn("Could not write catalog snapshot to {}", properties.getPath(), e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package net.listopad.boardgame.snapshot;
+
+import net.listopad.boardgame.entity.BoardGame;
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Catalog made of a snapshot plus the rows that changed since it was written.
+ * Only the changed rows live on the heap; snapshot records are decoded one at
+ * a time while iterating, so walking the catalog allocates nothing that
+ * outlives the current element. Iteration is in id order.
+ */
+final class SnapshotCatalog extends AbstractCollection<BoardGame> {
+
+    private final CatalogSnapshot snapshot;
+    private final NavigableMap<Long, BoardGame> changed;
+    private final Set<Long> deleted;
+    private final int size;
+    private final LocalDateTime watermark;
+
+    /**
+     * @param changed rows that replace or extend the snapshot, by id
+     * @param deleted snapshot ids that no longer exist and are not in {@code changed}
+     */
+    SnapshotCatalog(CatalogSnapshot snapshot, NavigableMap<Long, BoardGame> changed, Set<Long> deleted) {
+        this.snapshot = snapshot;
+        this.changed = changed;
+        this.deleted = deleted;
+        int replaced = 0;
+        for (Long id : changed.keySet()) {
+            if (snapshot.contains(id)) {
+                replaced++;
+            }
+        }
+        this.size = snapshot.size() - deleted.size() - replaced + changed.size();
+        LocalDateTime latest = snapshot.watermark();
+        for (BoardGame game : changed.values()) {
+            if (game.getUpdatedAt() != null && (latest == null || game.getUpdatedAt().isAfter(latest))) {
+                latest = game.getUpdatedAt();
+            }
+        }
+        this.watermark = latest;
+    }
+
+    /**
+     * Latest {@code updated_at} among the snapshot and the changed rows.
+     */
+    LocalDateTime watermark() {
+        return watermark;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<BoardGame> iterator() {
+        return new Iterator<>() {
+
+            private final Iterator<Map.Entry<Long, BoardGame>> changedRows = changed.entrySet().iterator();
+            private Map.Entry<Long, BoardGame> nextChanged = advanceChanged();
+            private int position = advanceSnapshot(0);
+
+            @Override
+            public boolean hasNext() {
+                return position < snapshot.size() || nextChanged != null;
+            }
+
+            @Override
+            public BoardGame next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (nextChanged == null
+                    || (position < snapshot.size() && snapshot.idAt(position) < nextChanged.getKey())) {
+                    BoardGame game = snapshot.readAt(position);
+                    position = advanceSnapshot(position + 1);
+                    return game;
+                }
+                BoardGame game = nextChanged.getValue();
+                nextChanged = advanceChanged();
+                return game;
+            }
+
+            private Map.Entry<Long, BoardGame> advanceChanged() {
+                return changedRows.hasNext() ? changedRows.next() : null;
+            }
+
+            // Skips records that were deleted or are superseded by a changed row
+            private int advanceSnapshot(int from) {
+                int next = from;
+                while (next < snapshot.size()) {
+                    long id = snapshot.idAt(next);
+                    if (!deleted.contains(id) && !changed.containsKey(id)) {
+                        break;
+                    }
+                    next++;
+                }
+                return next;
+            }
+        };
+    }
+}
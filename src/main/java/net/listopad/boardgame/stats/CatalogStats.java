@@ -0,0 +1,15 @@
+package net.listopad.boardgame.stats;
+
+import java.time.Instant;
+import java.util.SortedMap;
+
+public record CatalogStats(
+    long totalGames,
+    Double averagePlayTimeMinutes,
+    Integer minPlayTimeMinutes,
+    Integer maxPlayTimeMinutes,
+    SortedMap<Integer, Long> playerCountDistribution,
+    SortedMap<String, Long> gamesAddedPerMonth,
+    Instant refreshedAt
+) {
+}
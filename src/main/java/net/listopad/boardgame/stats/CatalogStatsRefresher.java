@@ -0,0 +1,124 @@
+package net.listopad.boardgame.stats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.listopad.boardgame.config.StatsProperties;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the latest row of the board_game_stats view in memory, so reading
+ * statistics never touches the database. The view is refreshed on a schedule
+ * and, sooner, once enough local writes have accumulated.
+ */
+@Slf4j
+@Component
+public class CatalogStatsRefresher {
+
+    private final CatalogStatsRepository statsRepository;
+    private final StatsProperties properties;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+    private final AtomicLong writesSinceRefresh = new AtomicLong();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final Timer refreshTimer;
+    private final Counter skippedCounter;
+
+    private volatile CatalogStats current;
+    private volatile Instant lastRefreshAttempt = Instant.EPOCH;
+
+    @Autowired
+    public CatalogStatsRefresher(CatalogStatsRepository statsRepository, StatsProperties properties,
+                                 TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this(statsRepository, properties, taskScheduler, meterRegistry, Clock.systemUTC());
+    }
+
+    CatalogStatsRefresher(CatalogStatsRepository statsRepository, StatsProperties properties,
+                          TaskScheduler taskScheduler, MeterRegistry meterRegistry, Clock clock) {
+        this.statsRepository = statsRepository;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        this.clock = clock;
+        this.refreshTimer = Timer.builder("board_games.stats.refresh").register(meterRegistry);
+        this.skippedCounter = Counter.builder("board_games.stats.refresh.skipped").register(meterRegistry);
+        Gauge.builder("board_games.stats.pending_writes", writesSinceRefresh, AtomicLong::get).register(meterRegistry);
+    }
+
+    public CatalogStats current() {
+        CatalogStats stats = current;
+        if (stats == null) {
+            stats = reload();
+        }
+        return stats;
+    }
+
+    public long getWritesSinceRefresh() {
+        return writesSinceRefresh.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardGameChanged(BoardGameChangedEvent event) {
+        // Remote writes count towards the threshold of the node that made them
+        if (event.remote() || event.type() == ChangeType.RESYNC) {
+            return;
+        }
+        if (writesSinceRefresh.incrementAndGet() >= properties.getWriteThreshold()
+            && refreshScheduled.compareAndSet(false, true)) {
+            Instant earliest = lastRefreshAttempt.plus(properties.getMinRefreshInterval());
+            Instant now = clock.instant();
+            taskScheduler.schedule(this::refreshAfterWrites, earliest.isAfter(now) ? earliest : now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${board-games.stats.refresh-interval:5m}",
+               initialDelayString = "${board-games.stats.refresh-interval:5m}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Refreshes the view and reloads the in-memory copy. If another instance
+     * holds the refresh lock, only the reload happens.
+     */
+    public synchronized CatalogStats refresh() {
+        lastRefreshAttempt = clock.instant();
+        long writes = writesSinceRefresh.get();
+        try {
+            Boolean refreshed = refreshTimer.record(statsRepository::refreshConcurrently);
+            if (Boolean.TRUE.equals(refreshed)) {
+                writesSinceRefresh.addAndGet(-writes);
+            } else {
+                skippedCounter.increment();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh catalog statistics, serving the previous snapshot", e);
+        }
+        return reload();
+    }
+
+    private void refreshAfterWrites() {
+        try {
+            refresh();
+        } finally {
+            refreshScheduled.set(false);
+        }
+    }
+
+    private CatalogStats reload() {
+        CatalogStats stats = statsRepository.load();
+        current = stats;
+        return stats;
+    }
+}
@@ -0,0 +1,66 @@
+package net.listopad.boardgame.stats;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.TreeMap;
+
+@Repository
+@RequiredArgsConstructor
+public class CatalogStatsRepository {
+
+    // Shared by all instances so only one of them refreshes the view at a time
+    private static final long REFRESH_LOCK_KEY = 0x62675f7374617473L;
+
+    private static final TypeReference<TreeMap<Integer, Long>> PLAYER_DISTRIBUTION = new TypeReference<>() {};
+    private static final TypeReference<TreeMap<String, Long>> MONTHLY_COUNTS = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public CatalogStats load() {
+        return jdbcTemplate.queryForObject("SELECT * FROM board_game_stats WHERE id = 1", (rs, rowNum) -> map(rs));
+    }
+
+    /**
+     * Refreshes the view unless another instance is already doing so.
+     * Returns false when the refresh was skipped. The lock is transaction
+     * scoped, so it is released with the transaction and can never be left
+     * behind on a pooled connection.
+     */
+    @Transactional
+    public boolean refreshConcurrently() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, REFRESH_LOCK_KEY))) {
+            return false;
+        }
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY board_game_stats");
+        return true;
+    }
+
+    private CatalogStats map(ResultSet rs) throws SQLException {
+        return new CatalogStats(
+            rs.getLong("total_games"),
+            rs.getObject("average_play_time_minutes", Double.class),
+            rs.getObject("min_play_time_minutes", Integer.class),
+            rs.getObject("max_play_time_minutes", Integer.class),
+            readJson(rs.getString("player_count_distribution"), PLAYER_DISTRIBUTION),
+            readJson(rs.getString("games_added_per_month"), MONTHLY_COUNTS),
+            rs.getTimestamp("refreshed_at").toInstant()
+        );
+    }
+
+    private <T> T readJson(String json, TypeReference<T> type) throws SQLException {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Malformed statistics column", e);
+        }
+    }
+}
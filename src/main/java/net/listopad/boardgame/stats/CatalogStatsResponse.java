@@ -0,0 +1,36 @@
+package net.listopad.boardgame.stats;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.SortedMap;
+
+public record CatalogStatsResponse(
+    long totalGames,
+    Double averagePlayTimeMinutes,
+    Integer minPlayTimeMinutes,
+    Integer maxPlayTimeMinutes,
+    SortedMap<Integer, Long> playerCountDistribution,
+    SortedMap<String, Long> gamesAddedPerMonth,
+    Freshness freshness
+) {
+
+    /**
+     * How old the numbers are: when the view was last refreshed and how many
+     * writes this instance has seen since then.
+     */
+    public record Freshness(Instant refreshedAt, long ageSeconds, long writesSinceRefresh) {
+    }
+
+    public static CatalogStatsResponse of(CatalogStats stats, long writesSinceRefresh, Instant now) {
+        long ageSeconds = Math.max(0, Duration.between(stats.refreshedAt(), now).toSeconds());
+        return new CatalogStatsResponse(
+            stats.totalGames(),
+            stats.averagePlayTimeMinutes(),
+            stats.minPlayTimeMinutes(),
+            stats.maxPlayTimeMinutes(),
+            stats.playerCountDistribution(),
+            stats.gamesAddedPerMonth(),
+            new Freshness(stats.refreshedAt(), ageSeconds, writesSinceRefresh)
+        );
+    }
+}
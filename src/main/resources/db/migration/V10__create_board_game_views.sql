@@ -0,0 +1,6 @@
+-- View totals, written in periodic batches from in-memory counters
+CREATE TABLE board_game_views (
+    board_game_id BIGINT PRIMARY KEY REFERENCES board_games (id) ON DELETE CASCADE,
+    view_count BIGINT NOT NULL,
+    last_viewed_at TIMESTAMP NOT NULL
+);
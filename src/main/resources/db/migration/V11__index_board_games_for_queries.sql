@@ -0,0 +1,11 @@
+-- Indexes for the query API and keyword search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigram indexes serve LOWER(column) LIKE '%text%' and 'text%'
+CREATE INDEX idx_board_games_name_trgm ON board_games USING gin (LOWER(name) gin_trgm_ops);
+CREATE INDEX idx_board_games_description_trgm ON board_games USING gin (LOWER(description) gin_trgm_ops);
+
+-- Range filters and sorts; the id column matches the query API's tie-breaker
+CREATE INDEX idx_board_games_play_time ON board_games (play_time_minutes, id);
+CREATE INDEX idx_board_games_created_at ON board_games (created_at, id);
+CREATE INDEX idx_board_games_players ON board_games (min_players, max_players);
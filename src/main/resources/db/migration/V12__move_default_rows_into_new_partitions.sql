@@ -0,0 +1,51 @@
+-- CREATE TABLE ... PARTITION OF fails once the DEFAULT partition holds rows for
+-- the new range (e.g. the scheduler was down at the start of a month). The
+-- partition is instead created standalone, the month's rows are moved out of
+-- the default partition, and the table is attached. The default partition is
+-- locked throughout so no row for that month can be routed there in between.
+-- Both functions return the number of rows moved.
+DROP FUNCTION create_board_game_history_partition(DATE);
+
+CREATE FUNCTION create_board_game_history_partition(month_start DATE) RETURNS integer AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', month_start)::date;
+    partition_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'board_game_history_' || to_char(partition_start, 'YYYY_MM');
+    moved integer;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+    LOCK TABLE board_game_history_default IN ACCESS EXCLUSIVE MODE;
+    EXECUTE format('CREATE TABLE %I (LIKE board_game_history INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM board_game_history_default WHERE changed_at >= %L AND changed_at < %L RETURNING *) '
+        'INSERT INTO %I SELECT * FROM moved', partition_start, partition_end, partition_name);
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    EXECUTE format('ALTER TABLE board_game_history ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, partition_start, partition_end);
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP FUNCTION create_plays_partition(DATE);
+
+CREATE FUNCTION create_plays_partition(month_start DATE) RETURNS integer AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', month_start)::date;
+    partition_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'plays_' || to_char(partition_start, 'YYYY_MM');
+    moved integer;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+    LOCK TABLE plays_default IN ACCESS EXCLUSIVE MODE;
+    EXECUTE format('CREATE TABLE %I (LIKE plays INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM plays_default WHERE recorded_at >= %L AND recorded_at < %L RETURNING *) '
+        'INSERT INTO %I SELECT * FROM moved', partition_start, partition_end, partition_name);
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    EXECUTE format('ALTER TABLE plays ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, partition_start, partition_end);
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
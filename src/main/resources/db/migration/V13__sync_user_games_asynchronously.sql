@@ -0,0 +1,12 @@
+-- The attribute sync trigger rewrote every collection row of a game inside the
+-- game's own UPDATE, so editing a popular game held locks on (and wrote) one
+-- row per owner before the edit could commit. The copies are now refreshed in
+-- small batches after the commit by UserGamesAttributeSync.
+DROP TRIGGER board_games_sync_user_games ON board_games;
+DROP FUNCTION sync_user_games_attributes();
+
+-- The players-only filter reads the copied player counts, so they have to be in
+-- the added_at index for that filter to be answered by an index-only scan
+DROP INDEX idx_user_games_added_at;
+CREATE INDEX idx_user_games_added_at ON user_games (user_id, added_at DESC)
+    INCLUDE (board_game_id, min_players, max_players, play_time_minutes);
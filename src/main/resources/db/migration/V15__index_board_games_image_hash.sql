@@ -0,0 +1,2 @@
+-- Lets the image garbage collector check a batch of stored hashes for references
+CREATE INDEX idx_board_games_image_hash ON board_games (image_hash) WHERE image_hash IS NOT NULL;
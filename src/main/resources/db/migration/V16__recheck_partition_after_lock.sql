@@ -0,0 +1,51 @@
+-- Every node creates the upcoming partitions at startup and from a daily job.
+-- Two nodes could both see the partition missing, and the one that got the
+-- lock second failed with "relation already exists". The check is repeated
+-- once the default partition is locked, when the other node has committed.
+CREATE OR REPLACE FUNCTION create_board_game_history_partition(month_start DATE) RETURNS integer AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', month_start)::date;
+    partition_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'board_game_history_' || to_char(partition_start, 'YYYY_MM');
+    moved integer;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+    LOCK TABLE board_game_history_default IN ACCESS EXCLUSIVE MODE;
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE board_game_history INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM board_game_history_default WHERE changed_at >= %L AND changed_at < %L RETURNING *) '
+        'INSERT INTO %I SELECT * FROM moved', partition_start, partition_end, partition_name);
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    EXECUTE format('ALTER TABLE board_game_history ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, partition_start, partition_end);
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION create_plays_partition(month_start DATE) RETURNS integer AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', month_start)::date;
+    partition_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'plays_' || to_char(partition_start, 'YYYY_MM');
+    moved integer;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+    LOCK TABLE plays_default IN ACCESS EXCLUSIVE MODE;
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE plays INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM plays_default WHERE recorded_at >= %L AND recorded_at < %L RETURNING *) '
+        'INSERT INTO %I SELECT * FROM moved', partition_start, partition_end, partition_name);
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    EXECUTE format('ALTER TABLE plays ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, partition_start, partition_end);
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,14 @@
+CREATE OR REPLACE FUNCTION notify_board_game_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('board_game_changes', TG_OP || ':' || OLD.id);
+        RETURN OLD;
+    END IF;
+    PERFORM pg_notify('board_game_changes', TG_OP || ':' || NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER board_games_notify_change
+    AFTER INSERT OR UPDATE OR DELETE ON board_games
+    FOR EACH ROW EXECUTE FUNCTION notify_board_game_change();
@@ -0,0 +1,30 @@
+CREATE TABLE board_game_history (
+    id BIGSERIAL,
+    board_game_id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    name VARCHAR(255),
+    description VARCHAR(2000),
+    min_players INTEGER,
+    max_players INTEGER,
+    play_time_minutes INTEGER,
+    changed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, changed_at)
+) PARTITION BY RANGE (changed_at);
+
+-- Catches rows for months whose partition has not been created yet
+CREATE TABLE board_game_history_default PARTITION OF board_game_history DEFAULT;
+
+CREATE INDEX idx_board_game_history_game_id ON board_game_history (board_game_id, id DESC);
+
+CREATE OR REPLACE FUNCTION create_board_game_history_partition(month_start DATE) RETURNS void AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', month_start)::date;
+    partition_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF board_game_history FOR VALUES FROM (%L) TO (%L)',
+        'board_game_history_' || to_char(partition_start, 'YYYY_MM'), partition_start, partition_end);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_board_game_history_partition(CURRENT_DATE);
+SELECT create_board_game_history_partition((CURRENT_DATE + INTERVAL '1 month')::date);
@@ -0,0 +1 @@
+ALTER TABLE board_games ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
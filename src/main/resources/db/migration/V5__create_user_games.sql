@@ -0,0 +1,46 @@
+-- Per-user collections. Hash partitioning by user keeps each user's rows and
+-- index entries in one small partition; player counts and play time are copied
+-- from board_games so collection filters are answered by index-only scans.
+CREATE TABLE user_games (
+    user_id BIGINT NOT NULL,
+    board_game_id BIGINT NOT NULL REFERENCES board_games (id) ON DELETE CASCADE,
+    added_at TIMESTAMP NOT NULL DEFAULT now(),
+    min_players INTEGER,
+    max_players INTEGER,
+    play_time_minutes INTEGER,
+    PRIMARY KEY (user_id, board_game_id)
+) PARTITION BY HASH (user_id);
+
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE user_games_p%s PARTITION OF user_games FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            remainder, remainder);
+    END LOOP;
+END;
+$$;
+
+CREATE INDEX idx_user_games_added_at ON user_games (user_id, added_at DESC) INCLUDE (board_game_id);
+CREATE INDEX idx_user_games_play_time ON user_games (user_id, play_time_minutes)
+    INCLUDE (board_game_id, min_players, max_players, added_at);
+-- Used by the cascade on delete and by the attribute sync trigger
+CREATE INDEX idx_user_games_board_game_id ON user_games (board_game_id);
+
+CREATE OR REPLACE FUNCTION sync_user_games_attributes() RETURNS trigger AS $$
+BEGIN
+    UPDATE user_games
+       SET min_players = NEW.min_players,
+           max_players = NEW.max_players,
+           play_time_minutes = NEW.play_time_minutes
+     WHERE board_game_id = NEW.id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER board_games_sync_user_games
+    AFTER UPDATE OF min_players, max_players, play_time_minutes ON board_games
+    FOR EACH ROW
+    WHEN (OLD.min_players IS DISTINCT FROM NEW.min_players
+       OR OLD.max_players IS DISTINCT FROM NEW.max_players
+       OR OLD.play_time_minutes IS DISTINCT FROM NEW.play_time_minutes)
+    EXECUTE FUNCTION sync_user_games_attributes();
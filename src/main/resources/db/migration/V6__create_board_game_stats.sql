@@ -0,0 +1,21 @@
+-- Catalog statistics as a single precomputed row. The unique index on id is
+-- required for REFRESH MATERIALIZED VIEW CONCURRENTLY, which keeps the view
+-- readable while it is being rebuilt.
+CREATE MATERIALIZED VIEW board_game_stats AS
+SELECT 1 AS id,
+       (SELECT count(*) FROM board_games) AS total_games,
+       (SELECT avg(play_time_minutes)::double precision FROM board_games) AS average_play_time_minutes,
+       (SELECT min(play_time_minutes) FROM board_games) AS min_play_time_minutes,
+       (SELECT max(play_time_minutes) FROM board_games) AS max_play_time_minutes,
+       (SELECT coalesce(jsonb_object_agg(players, games), '{}'::jsonb)
+          FROM (SELECT players, count(*) AS games
+                  FROM board_games, generate_series(min_players, max_players) AS players
+                 GROUP BY players) AS distribution) AS player_count_distribution,
+       (SELECT coalesce(jsonb_object_agg(month, games), '{}'::jsonb)
+          FROM (SELECT to_char(date_trunc('month', created_at), 'YYYY-MM') AS month, count(*) AS games
+                  FROM board_games
+                 WHERE created_at IS NOT NULL
+                 GROUP BY 1) AS added) AS games_added_per_month,
+       now() AS refreshed_at;
+
+CREATE UNIQUE INDEX idx_board_game_stats_id ON board_game_stats (id);
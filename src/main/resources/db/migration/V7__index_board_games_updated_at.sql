@@ -0,0 +1,2 @@
+-- Lets a node that starts from a catalog snapshot fetch only newer rows
+CREATE INDEX idx_board_games_updated_at ON board_games (updated_at);
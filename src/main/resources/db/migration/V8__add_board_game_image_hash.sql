@@ -0,0 +1,2 @@
+-- SHA-256 (hex) of the box art in the content-addressed image store; the bytes stay out of Postgres
+ALTER TABLE board_games ADD COLUMN image_hash VARCHAR(64);
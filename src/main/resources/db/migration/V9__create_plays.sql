@@ -0,0 +1,37 @@
+-- Append-only play log, partitioned by month of ingestion so inserts always
+-- land in one small, hot partition and old months can be detached wholesale.
+-- There is deliberately no foreign key: it would cost an index probe per row
+-- at thousands of rows per second. Games are checked when plays are accepted.
+CREATE TABLE plays (
+    board_game_id BIGINT NOT NULL,
+    played_on DATE NOT NULL,
+    player_count INTEGER NOT NULL,
+    duration_minutes INTEGER,
+    user_id BIGINT,
+    recorded_at TIMESTAMP NOT NULL
+) PARTITION BY RANGE (recorded_at);
+
+CREATE TABLE plays_default PARTITION OF plays DEFAULT;
+
+CREATE INDEX idx_plays_game_played_on ON plays (board_game_id, played_on);
+
+CREATE OR REPLACE FUNCTION create_plays_partition(month_start DATE) RETURNS void AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', month_start)::date;
+    partition_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF plays FOR VALUES FROM (%L) TO (%L)',
+        'plays_' || to_char(partition_start, 'YYYY_MM'), partition_start, partition_end);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_plays_partition(CURRENT_DATE);
+SELECT create_plays_partition((CURRENT_DATE + INTERVAL '1 month')::date);
+
+-- Running totals, updated by each flushed batch instead of counting plays
+CREATE TABLE board_game_play_counts (
+    board_game_id BIGINT PRIMARY KEY REFERENCES board_games (id) ON DELETE CASCADE,
+    play_count BIGINT NOT NULL,
+    total_minutes BIGINT NOT NULL,
+    last_played_on DATE NOT NULL
+);
@@ -0,0 +1,77 @@
+package net.listopad.boardgame;
+
+import static net.listopad.boardgame.jdbc.QueryCountAssertions.assertMaxQueries;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.repository.BoardGameRepository;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {"board-games.near-cache.enabled=false", "board-games.snapshot.enabled=false"})
+@AutoConfigureMockMvc
+class BoardGameQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BoardGameRepository boardGameRepository;
+
+    private BoardGame savedGame;
+
+    @BeforeEach
+    void setUp() {
+        boardGameRepository.deleteAll();
+        savedGame = boardGameRepository.save(new BoardGame("RoboRally", "A race board game for 2-8 players", 2, 8, 90));
+    }
+
+    @Test
+    void getBoardGameById_ShouldIssueSingleQuery() throws Exception {
+        assertMaxQueries(1, () -> mockMvc.perform(get("/api/board-games/" + savedGame.getId()))
+            .andExpect(status().isOk()));
+    }
+
+    @Test
+    void searchBoardGames_ShouldIssueSingleQuery() throws Exception {
+        assertMaxQueries(1, () -> mockMvc.perform(get("/api/board-games/search").param("keyword", "robo"))
+            .andExpect(status().isOk()));
+    }
+
+    @Test
+    void createBoardGame_ShouldCheckNameAndInsert() throws Exception {
+        BoardGame newGame = new BoardGame("Azul", "Tile drafting", 2, 4, 45);
+
+        assertMaxQueries(2, () -> mockMvc.perform(post("/api/board-games")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newGame)))
+            .andExpect(status().isCreated()));
+    }
+
+    @Test
+    void updateBoardGame_ShouldNotExceedReadCheckAndUpdate() throws Exception {
+        BoardGame update = new BoardGame();
+        update.setName("RoboRally 2");
+
+        assertMaxQueries(3, () -> mockMvc.perform(put("/api/board-games/" + savedGame.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isOk()));
+    }
+}
@@ -0,0 +1,104 @@
+package net.listopad.boardgame;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import net.listopad.boardgame.query.BoardGameQuery;
+import net.listopad.boardgame.query.BoardGameQueryCompiler;
+import net.listopad.boardgame.query.BoardGameQueryRepository;
+import net.listopad.boardgame.query.CompiledQuery;
+import net.listopad.boardgame.query.QueryFilter;
+import net.listopad.boardgame.query.QuerySort;
+
+/**
+ * Runs one query per operator against Postgres and checks that its plan uses
+ * the index V11 added for it. Sequential scans are disabled so the check does
+ * not depend on the table being large enough for an index to win on cost; a
+ * plan without the index means the generated SQL cannot use it at all.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {"board-games.near-cache.enabled=false", "board-games.snapshot.enabled=false"})
+class BoardGameQueryPlanTest {
+
+    private static final int GAMES = 20_000;
+
+    @Autowired
+    private BoardGameQueryCompiler compiler;
+
+    @Autowired
+    private BoardGameQueryRepository queryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    static Stream<Arguments> operators() {
+        return Stream.of(
+            Arguments.of(new QueryFilter("playTimeMinutes", "eq", 7), "playTimeMinutes", "idx_board_games_play_time"),
+            Arguments.of(new QueryFilter("playTimeMinutes", "lt", 3), "playTimeMinutes", "idx_board_games_play_time"),
+            Arguments.of(new QueryFilter("playTimeMinutes", "lte", 2), "playTimeMinutes", "idx_board_games_play_time"),
+            Arguments.of(new QueryFilter("playTimeMinutes", "gt", 597), "playTimeMinutes", "idx_board_games_play_time"),
+            Arguments.of(new QueryFilter("playTimeMinutes", "gte", 598), "playTimeMinutes", "idx_board_games_play_time"),
+            Arguments.of(new QueryFilter("playTimeMinutes", "in", List.of(1, 2, 3)), "playTimeMinutes",
+                "idx_board_games_play_time"),
+            Arguments.of(new QueryFilter("createdAt", "between", List.of("2020-01-02T00:00", "2020-01-02T10:00")),
+                "createdAt", "idx_board_games_created_at"),
+            Arguments.of(new QueryFilter("name", "contains", "azul quest"), null, "idx_board_games_name_trgm"),
+            Arguments.of(new QueryFilter("description", "startsWith", "quantum"), null,
+                "idx_board_games_description_trgm"),
+            Arguments.of(new QueryFilter("players", "eq", 8), null, "idx_board_games_players"),
+            Arguments.of(new QueryFilter("players", "between", List.of(7, 9)), null, "idx_board_games_players"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("operators")
+    void query_ShouldUseIndexForOperator(QueryFilter filter, String sortField, String index) {
+        // Given
+        List<QuerySort> sort = sortField == null ? null : List.of(new QuerySort(sortField, "asc"));
+        CompiledQuery query = compiler.compile(new BoardGameQuery(List.of(filter), sort, null));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            insertGames();
+            jdbcTemplate.execute("ANALYZE board_games");
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+            // When
+            String plan = queryRepository.explain(query);
+            int found = queryRepository.find(query).size();
+
+            // Then
+            assertThat(plan).contains("\"Index Name\": \"" + index + "\"");
+            assertThat(found).isPositive();
+            status.setRollbackOnly();
+        });
+    }
+
+    // Every 5000th game is the rare one the selective filters look for
+    private void insertGames() {
+        jdbcTemplate.update("""
+            INSERT INTO board_games (name, description, min_players, max_players, play_time_minutes,
+                                     created_at, updated_at)
+            SELECT CASE WHEN g % 5000 = 0 THEN 'Azul Quest ' || g ELSE 'Game ' || g || ' ' || md5(g::text) END,
+                   CASE WHEN g % 5000 = 1 THEN 'Quantum ' || md5(g::text) ELSE 'Description ' || md5(g::text) END,
+                   CASE WHEN g % 5000 = 0 THEN 6 ELSE 1 + g % 3 END,
+                   CASE WHEN g % 5000 = 0 THEN 10 ELSE 2 + g % 3 END,
+                   g % 600,
+                   TIMESTAMP '2020-01-01' + g * INTERVAL '1 hour',
+                   TIMESTAMP '2020-01-01' + g * INTERVAL '1 hour'
+            FROM generate_series(1, ?) AS g
+            """, GAMES);
+    }
+}
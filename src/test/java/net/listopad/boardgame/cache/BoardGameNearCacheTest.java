@@ -0,0 +1,63 @@
+package net.listopad.boardgame.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.NearCacheProperties;
+import net.listopad.boardgame.entity.BoardGame;
+
+class BoardGameNearCacheTest {
+
+    private final BoardGameNearCache nearCache = new BoardGameNearCache(new NearCacheProperties(), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        nearCache.setSynced(true);
+    }
+
+    @Test
+    void get_WhenCallerModifiesResult_ShouldNotChangeCachedGame() {
+        // Given
+        BoardGame loaded = nearCache.get(1L, () -> load(1L)).orElseThrow();
+        loaded.setName("Changed by first caller");
+        BoardGame hit = nearCache.get(1L, () -> load(1L)).orElseThrow();
+        hit.setName("Changed by second caller");
+
+        // When
+        BoardGame next = nearCache.get(1L, () -> load(1L)).orElseThrow();
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(next.getName()).isEqualTo("Azul");
+        assertThat(next).isNotSameAs(hit).isNotSameAs(loaded);
+    }
+
+    @Test
+    void get_WhenNotSynced_ShouldAlwaysLoad() {
+        // Given
+        nearCache.setSynced(false);
+
+        // When
+        nearCache.get(1L, () -> load(1L));
+        nearCache.get(1L, () -> load(1L));
+
+        // Then
+        assertThat(loads).hasValue(2);
+        assertThat(nearCache.size()).isZero();
+    }
+
+    private Optional<BoardGame> load(Long id) {
+        loads.incrementAndGet();
+        BoardGame game = new BoardGame("Azul", "Tile drafting", 2, 4, 45);
+        game.setId(id);
+        game.setVersion(1L);
+        return Optional.of(game);
+    }
+}
@@ -0,0 +1,181 @@
+package net.listopad.boardgame.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.ResponseCacheProperties;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+
+class ResponseBytesCacheTest {
+
+    private static final Type LIST_TYPE = new ParameterizedTypeReference<List<BoardGame>>() { }.getType();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    private final ResponseBytesCache cache =
+        new ResponseBytesCache(objectMapper, new ResponseCacheProperties(), new SimpleMeterRegistry());
+    private final BoardGameJsonHttpMessageConverter converter = new BoardGameJsonHttpMessageConverter(cache);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void encode_WithSameVersion_ShouldReuseBytes() throws Exception {
+        // Given
+        EncodedGame first = cache.encode(game(1L, 3L, "Azul"), true);
+
+        // When
+        EncodedGame second = cache.encode(game(1L, 3L, "Azul"), true);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.json()).isEqualTo(objectMapper.writeValueAsBytes(game(1L, 3L, "Azul")));
+    }
+
+    @Test
+    void encode_WithNewerVersion_ShouldNotServeStaleBytes() throws Exception {
+        // Given
+        cache.encode(game(1L, 3L, "Azul"), true);
+
+        // When
+        EncodedGame encoded = cache.encode(game(1L, 4L, "Azul: Summer Pavilion"), true);
+
+        // Then
+        assertThat(new String(encoded.json(), StandardCharsets.UTF_8)).contains("Summer Pavilion");
+        assertThat(cache.encode(game(1L, 3L, "Azul"), true).version()).isEqualTo(3L);
+        assertThat(cache.encode(game(1L, 4L, "Azul: Summer Pavilion"), true).version()).isEqualTo(4L);
+    }
+
+    @Test
+    void encode_WithoutStore_ShouldLeaveCacheEmpty() throws Exception {
+        // When
+        cache.encode(game(1L, 3L, "Azul"), false);
+
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void onBoardGameChanged_ShouldReleaseEntry() throws Exception {
+        // Given
+        cache.encode(game(1L, 3L, "Azul"), true);
+        cache.encode(game(2L, 1L, "Carcassonne"), true);
+
+        // When
+        cache.onBoardGameChanged(BoardGameChangedEvent.remote(1L, ChangeType.DELETED));
+
+        // Then
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    void write_List_ShouldMatchJacksonOutput() throws Exception {
+        // Given
+        List<BoardGame> games = List.of(game(1L, 3L, "Azul"), game(2L, 1L, "Carcassonne"));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When
+        converter.write(games, LIST_TYPE, MediaType.APPLICATION_JSON, output);
+
+        // Then
+        assertThat(converter.canWrite(LIST_TYPE, List.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(output.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(games));
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void write_WhenClientAcceptsGzip_ShouldSendCompressedCopy() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/board-games/1");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        BoardGame game = game(1L, 3L, "Azul");
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        output.getHeaders().setETag("\"3\"");
+
+        // When
+        converter.write(game, BoardGame.class, MediaType.APPLICATION_JSON, output);
+
+        // Then
+        assertThat(output.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(output.getHeaders().getETag()).isEqualTo("\"3-gzip\"");
+        assertThat(output.getHeaders().getContentLength()).isEqualTo(output.getBodyAsBytes().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(output.getBodyAsBytes()))) {
+            assertThat(in.readAllBytes()).isEqualTo(objectMapper.writeValueAsBytes(game));
+        }
+    }
+
+    @Test
+    void write_WhenClientDoesNotAcceptGzip_ShouldKeepVersionETag() throws Exception {
+        // Given
+        RequestContextHolder.setRequestAttributes(
+            new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/board-games/1")));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        output.getHeaders().setETag("\"3\"");
+
+        // When
+        converter.write(game(1L, 3L, "Azul"), BoardGame.class, MediaType.APPLICATION_JSON, output);
+
+        // Then
+        assertThat(output.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(output.getHeaders().getETag()).isEqualTo("\"3\"");
+    }
+
+    @Test
+    void encode_WhenFull_ShouldEvictLeastRecentlyUsedGame() throws Exception {
+        // Given
+        long entryBytes = cache.encode(game(1L, 1L, "Azul"), false).size();
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxSize(DataSize.ofBytes(entryBytes * 2 + entryBytes / 2));
+        ResponseBytesCache small = new ResponseBytesCache(objectMapper, properties, new SimpleMeterRegistry());
+        EncodedGame first = small.encode(game(1L, 1L, "Azul"), true);
+        small.encode(game(2L, 1L, "Azul"), true);
+        small.encode(game(1L, 1L, "Azul"), true);
+
+        // When
+        small.encode(game(3L, 1L, "Azul"), true);
+
+        // Then
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.encode(game(1L, 1L, "Azul"), true)).isSameAs(first);
+        assertThat(small.estimatedBytes()).isLessThanOrEqualTo(properties.getMaxSize().toBytes());
+    }
+
+    private static BoardGame game(Long id, Long version, String name) {
+        BoardGame game = new BoardGame(name, "Tile drafting and pattern building. ".repeat(50), 2, 4, 45);
+        game.setId(id);
+        game.setVersion(version);
+        game.setCreatedAt(LocalDateTime.of(2024, 5, 1, 12, 0));
+        game.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 12, 0));
+        return game;
+    }
+}
@@ -0,0 +1,112 @@
+package net.listopad.boardgame.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class SegmentedLruMapTest {
+
+    @Test
+    void put_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        SegmentedLruMap<String, String> map = new SegmentedLruMap<>(1, 2, Long.MAX_VALUE, value -> 1);
+        map.put("a", "A");
+        map.put("b", "B");
+        map.get("a");
+
+        // When
+        map.put("c", "C");
+
+        // Then
+        assertThat(map.get("a")).isEqualTo("A");
+        assertThat(map.get("b")).isNull();
+        assertThat(map.get("c")).isEqualTo("C");
+    }
+
+    @Test
+    void put_WhenOverWeight_ShouldEvictUntilWithinBudget() {
+        // Given
+        SegmentedLruMap<String, String> map = new SegmentedLruMap<>(1, 100, 10, String::length);
+        map.put("a", "aaaa");
+        map.put("b", "bbbb");
+
+        // When
+        map.put("c", "cccccc");
+
+        // Then
+        assertThat(map.get("a")).isNull();
+        assertThat(map.weight()).isEqualTo(10);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void remove_WithValue_ShouldOnlyRemoveMatchingEntry() {
+        // Given
+        SegmentedLruMap<String, String> map = new SegmentedLruMap<>(1, 10, 100, String::length);
+        map.put("a", "new");
+
+        // When
+        boolean removedStale = map.remove("a", "old");
+
+        // Then
+        assertThat(removedStale).isFalse();
+        assertThat(map.get("a")).isEqualTo("new");
+        assertThat(map.weight()).isEqualTo(3);
+    }
+
+    @Test
+    void merge_ShouldKeepTheValueChosenByTheRemapping() {
+        // Given
+        SegmentedLruMap<String, String> map = new SegmentedLruMap<>(1, 10, 100, String::length);
+        map.put("a", "newest");
+
+        // When
+        String merged = map.merge("a", "old", (current, value) -> current.length() > value.length() ? current : value);
+
+        // Then
+        assertThat(merged).isEqualTo("newest");
+        assertThat(map.get("a")).isEqualTo("newest");
+        assertThat(map.weight()).isEqualTo(6);
+    }
+
+    @Test
+    void constructor_ShouldSizeSegmentsToTheEntryBudget() {
+        assertThat(new SegmentedLruMap<String, String>(10, 100, value -> 1).segmentCount()).isEqualTo(1);
+        assertThat(new SegmentedLruMap<String, String>(10_000, 100, value -> 1).segmentCount())
+            .isEqualTo(SegmentedLruMap.MAX_SEGMENTS);
+    }
+
+    @Test
+    void put_FromManyThreads_ShouldStayWithinLimits() throws Exception {
+        // Given
+        SegmentedLruMap<Integer, Integer> map = new SegmentedLruMap<>(1_000, Long.MAX_VALUE, value -> 1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+
+        // When
+        for (int thread = 0; thread < 4; thread++) {
+            int offset = thread * 10_000;
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    map.put(offset + i, i);
+                    map.get(offset + i / 2);
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(map.size()).isLessThanOrEqualTo(1_000);
+        assertThat(map.weight()).isEqualTo(map.size());
+    }
+}
@@ -0,0 +1,84 @@
+package net.listopad.boardgame.collection;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+
+class UserGamesAttributeSyncTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-01T12:00:00Z"), ZoneOffset.UTC);
+
+    private final UserCollectionRepository repository = mock(UserCollectionRepository.class);
+    private final List<Runnable> queued = new ArrayList<>();
+    private final UserGamesAttributeSync sync = new UserGamesAttributeSync(repository, queued::add, CLOCK,
+        Duration.ofHours(2), new SimpleMeterRegistry());
+
+    @Test
+    void onBoardGameChanged_ShouldSyncInBatchesAfterTheEvent() {
+        // Given
+        when(repository.syncAttributes(1L, UserGamesAttributeSync.BATCH_SIZE))
+            .thenReturn(UserGamesAttributeSync.BATCH_SIZE, UserGamesAttributeSync.BATCH_SIZE, 12);
+
+        // When
+        sync.onBoardGameChanged(BoardGameChangedEvent.local(game(1L), ChangeType.UPDATED));
+        verify(repository, never()).syncAttributes(anyLong(), anyInt());
+        queued.forEach(Runnable::run);
+
+        // Then
+        verify(repository, times(3)).syncAttributes(1L, UserGamesAttributeSync.BATCH_SIZE);
+    }
+
+    @Test
+    void onBoardGameChanged_ShouldQueueOneJobPerPendingGame() {
+        // When
+        sync.onBoardGameChanged(BoardGameChangedEvent.local(game(1L), ChangeType.UPDATED));
+        sync.onBoardGameChanged(BoardGameChangedEvent.local(game(1L), ChangeType.UPDATED));
+        sync.onBoardGameChanged(BoardGameChangedEvent.remote(2L, ChangeType.UPDATED));
+        sync.onBoardGameChanged(BoardGameChangedEvent.local(3L, ChangeType.DELETED));
+        queued.forEach(Runnable::run);
+
+        // Then
+        verify(repository).syncAttributes(1L, UserGamesAttributeSync.BATCH_SIZE);
+        verify(repository, never()).syncAttributes(2L, UserGamesAttributeSync.BATCH_SIZE);
+        verify(repository, never()).syncAttributes(3L, UserGamesAttributeSync.BATCH_SIZE);
+    }
+
+    @Test
+    void reconcile_ShouldSyncGamesUpdatedWithinTheWindow() {
+        // Given
+        when(repository.findGamesUpdatedSince(LocalDateTime.of(2026, 3, 1, 10, 0))).thenReturn(List.of(4L, 5L));
+
+        // When
+        sync.reconcile();
+        queued.forEach(Runnable::run);
+
+        // Then
+        verify(repository).syncAttributes(4L, UserGamesAttributeSync.BATCH_SIZE);
+        verify(repository).syncAttributes(5L, UserGamesAttributeSync.BATCH_SIZE);
+    }
+
+    private static BoardGame game(Long id) {
+        BoardGame game = new BoardGame("Azul", "Tile drafting", 2, 4, 45);
+        game.setId(id);
+        return game;
+    }
+}
@@ -2,12 +2,16 @@ package net.listopad.boardgame.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.exception.ConflictException;
+import net.listopad.boardgame.exception.PreconditionFailedException;
 import net.listopad.boardgame.service.BoardGameService;
+import net.listopad.boardgame.service.PopularityService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
@@ -30,6 +34,9 @@ class BoardGameControllerTest {
     @MockitoBean
     private BoardGameService boardGameService;
 
+    @MockitoBean
+    private PopularityService popularityService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -352,4 +359,183 @@ class BoardGameControllerTest {
 
         verify(boardGameService).searchBoardGames("NonExistentGame");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSimilarBoardGames_WhenGameExists_ShouldReturnSimilarGames() throws Exception {
+        // Given
+        when(boardGameService.findSimilarBoardGames(2L, 5)).thenReturn(Optional.of(List.of(testBoardGame)));
+
+        // When & Then
+        mockMvc.perform(get("/api/board-games/2/similar")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value(1));
+
+        verify(boardGameService).findSimilarBoardGames(2L, 5);
+    }
+
+    @Test
+    void getSimilarBoardGames_WhenGameDoesNotExist_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(boardGameService.findSimilarBoardGames(1L, 10)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/board-games/1/similar"))
+                .andExpect(status().isNotFound());
+
+        verify(boardGameService).findSimilarBoardGames(1L, 10);
+    }
+
+    @Test
+    void getBoardGameById_ShouldReturnVersionAsETag() throws Exception {
+        // Given
+        testBoardGame.setVersion(7L);
+        when(boardGameService.getBoardGameById(1L)).thenReturn(Optional.of(testBoardGame));
+
+        // When & Then
+        mockMvc.perform(get("/api/board-games/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+                .andExpect(jsonPath("$.version").value(7));
+    }
+
+    @Test
+    void getBoardGameById_WithGzipETagInIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        // Given
+        testBoardGame.setVersion(7L);
+        when(boardGameService.getBoardGameById(1L)).thenReturn(Optional.of(testBoardGame));
+
+        // When & Then
+        mockMvc.perform(get("/api/board-games/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"7-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-gzip\""));
+    }
+
+    @Test
+    void deleteBoardGame_WithGzipETagInIfMatch_ShouldPassItsVersion() throws Exception {
+        // Given
+        when(boardGameService.deleteBoardGame(1L, 3L)).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(delete("/api/board-games/1")
+                .header(HttpHeaders.IF_MATCH, "\"3-gzip\""))
+                .andExpect(status().isNoContent());
+
+        verify(boardGameService).deleteBoardGame(1L, 3L);
+    }
+
+    @Test
+    void updateBoardGame_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        // Given
+        testBoardGame.setVersion(8L);
+        when(boardGameService.updateBoardGame(eq(1L), any(BoardGame.class), eq(7L)))
+                .thenReturn(Optional.of(testBoardGame));
+
+        // When & Then
+        mockMvc.perform(put("/api/board-games/1")
+                .header(HttpHeaders.IF_MATCH, "\"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"8\""));
+
+        verify(boardGameService).updateBoardGame(eq(1L), any(BoardGame.class), eq(7L));
+    }
+
+    @Test
+    void updateBoardGame_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(boardGameService.updateBoardGame(eq(1L), any(BoardGame.class), eq(6L)))
+                .thenThrow(new PreconditionFailedException("Board game 1 is at version 7, not 6"));
+
+        // When & Then
+        mockMvc.perform(put("/api/board-games/1")
+                .header(HttpHeaders.IF_MATCH, "\"6\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchBoardGame_ShouldApplyPartialUpdate() throws Exception {
+        // Given
+        when(boardGameService.updateBoardGame(eq(1L), any(BoardGame.class))).thenReturn(Optional.of(testBoardGame));
+
+        // When & Then
+        mockMvc.perform(patch("/api/board-games/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"playTimeMinutes\": 60}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(boardGameService).updateBoardGame(eq(1L), any(BoardGame.class));
+    }
+
+    @Test
+    void deleteBoardGame_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        // Given
+        when(boardGameService.deleteBoardGame(1L, 3L)).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(delete("/api/board-games/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\""))
+                .andExpect(status().isNoContent());
+
+        verify(boardGameService).deleteBoardGame(1L, 3L);
+        verify(boardGameService, never()).deleteBoardGame(1L);
+    }
+
+    @Test
+    void deleteBoardGame_WithWeakIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/api/board-games/1")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(boardGameService, never()).deleteBoardGame(1L, 3L);
+        verify(boardGameService, never()).deleteBoardGame(1L);
+    }
+
+    @Test
+    void patchBoardGame_WithInvalidFields_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/board-games/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + "A".repeat(300) + "\", \"description\": \" \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name").exists())
+                .andExpect(jsonPath("$.description").exists());
+
+        verify(boardGameService, never()).updateBoardGame(eq(1L), any(BoardGame.class));
+    }
+
+    @Test
+    void patchBoardGame_WhenFieldsConflict_ShouldReturnConflict() throws Exception {
+        // Given
+        when(boardGameService.updateBoardGame(eq(1L), any(BoardGame.class)))
+                .thenThrow(new ConflictException("Board game 1 was concurrently changed from version 3 to 4 in name"));
+
+        // When & Then
+        mockMvc.perform(patch("/api/board-games/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Azul\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getBoardGameById_ShouldRecordViewOnlyForExistingGame() throws Exception {
+        // Given
+        when(boardGameService.getBoardGameById(1L)).thenReturn(Optional.of(testBoardGame));
+        when(boardGameService.getBoardGameById(2L)).thenReturn(Optional.empty());
+
+        // When
+        mockMvc.perform(get("/api/board-games/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/board-games/2")).andExpect(status().isNotFound());
+
+        // Then
+        verify(popularityService).recordView(1L);
+        verify(popularityService, never()).recordView(2L);
+    }
+}
@@ -0,0 +1,120 @@
+package net.listopad.boardgame.deadline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.exception.DeadlineExceededException;
+
+class RequestDeadlineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Counter cancelled = meterRegistry.counter("cancelled");
+    private final ScheduledExecutorService canceller = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        canceller.shutdownNow();
+    }
+
+    @Test
+    void register_WhenDeadlinePasses_ShouldCancelRunningStatement() throws Exception {
+        // Given
+        Statement statement = mock(Statement.class);
+        RequestDeadline deadline = new RequestDeadline(Duration.ofMillis(500), canceller, cancelled);
+
+        // When
+        assertThat(deadline.register(statement)).isTrue();
+
+        // Then
+        verify(statement, timeout(5_000)).cancel();
+        assertThat(deadline.isExpired()).isTrue();
+        assertThat(cancelled.count()).isEqualTo(1);
+    }
+
+    @Test
+    void cancel_ShouldSkipStatementsThatAlreadyFinished() throws Exception {
+        // Given
+        RequestDeadline deadline = new RequestDeadline(Duration.ofMinutes(1), canceller, cancelled);
+        Statement finished = mock(Statement.class);
+        Statement running = mock(Statement.class);
+        deadline.register(finished);
+        deadline.register(running);
+        deadline.unregister(finished);
+
+        // When
+        deadline.cancel();
+
+        // Then
+        verify(finished, never()).cancel();
+        verify(running).cancel();
+        assertThat(deadline.register(mock(Statement.class))).isFalse();
+    }
+
+    @Test
+    void cancel_WhileCancelIsSlow_ShouldNotBlockRequestThread() throws Exception {
+        // Given
+        RequestDeadline deadline = new RequestDeadline(Duration.ofMinutes(1), canceller, cancelled);
+        CountDownLatch cancelling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Statement slow = mock(Statement.class);
+        doAnswer(invocation -> {
+            cancelling.countDown();
+            release.await();
+            return null;
+        }).when(slow).cancel();
+        deadline.register(slow);
+
+        // When
+        Thread cancel = new Thread(deadline::cancel);
+        cancel.start();
+        cancelling.await();
+
+        // Then
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                deadline.unregister(slow);
+                assertThat(deadline.isExpired()).isTrue();
+            });
+        } finally {
+            release.countDown();
+            cancel.join();
+        }
+    }
+
+    @Test
+    void check_WhenExpired_ShouldThrow() {
+        // Given
+        RequestDeadline deadline = new RequestDeadline(Duration.ZERO, canceller, cancelled);
+
+        // When & Then
+        assertThatThrownBy(() -> deadline.check("findByKeyword"))
+            .isInstanceOf(DeadlineExceededException.class)
+            .hasMessageContaining("findByKeyword");
+    }
+
+    @Test
+    void queryTimeoutSeconds_ShouldRoundUp() {
+        // Given
+        RequestDeadline deadline = new RequestDeadline(Duration.ofMillis(1_500), canceller, cancelled);
+
+        // When & Then
+        assertThat(deadline.queryTimeoutSeconds()).isEqualTo(2);
+    }
+}
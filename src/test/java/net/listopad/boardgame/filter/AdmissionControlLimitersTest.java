@@ -0,0 +1,153 @@
+package net.listopad.boardgame.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlLimitersTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    void rateLimiter_ShouldAllowBurstThenRejectWithRetryHint() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, 100, clock::get);
+
+        // When & Then
+        assertThat(limiter.tryAcquire("client-a")).isZero();
+        assertThat(limiter.tryAcquire("client-a")).isZero();
+        assertThat(limiter.tryAcquire("client-a")).isZero();
+        assertThat(limiter.tryAcquire("client-a")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void rateLimiter_ShouldRefillOverTime() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 100, clock::get);
+        assertThat(limiter.tryAcquire("client-a")).isZero();
+        assertThat(limiter.tryAcquire("client-a")).isPositive();
+
+        // When
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Then
+        assertThat(limiter.tryAcquire("client-a")).isZero();
+    }
+
+    @Test
+    void rateLimiter_ShouldTrackClientsIndependently() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100, clock::get);
+
+        // When & Then
+        assertThat(limiter.tryAcquire("client-a")).isZero();
+        assertThat(limiter.tryAcquire("client-a")).isPositive();
+        assertThat(limiter.tryAcquire("client-b")).isZero();
+    }
+
+    @Test
+    void rateLimiter_ShouldPruneIdleClientsWhenFull() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 2, clock::get);
+        limiter.tryAcquire("client-a");
+        limiter.tryAcquire("client-b");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // When
+        limiter.tryAcquire("client-c");
+
+        // Then
+        assertThat(limiter.trackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    void rateLimiter_WhenFullOfActiveClients_ShouldShareOverflowBucketWithoutGrowing() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 2, clock::get);
+        limiter.tryAcquire("client-a");
+        limiter.tryAcquire("client-b");
+
+        // When
+        long first = limiter.tryAcquire("rotating-1");
+        long second = limiter.tryAcquire("rotating-2");
+
+        // Then
+        assertThat(first).isZero();
+        assertThat(second).isPositive();
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    void rateLimiter_ShouldSweepAtMostOncePerInterval() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 2, TimeUnit.SECONDS.toNanos(5), clock::get);
+        limiter.tryAcquire("client-a");
+        limiter.tryAcquire("client-b");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire("client-c");
+        limiter.tryAcquire("client-d");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // When
+        limiter.tryAcquire("client-e");
+
+        // Then
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        limiter.tryAcquire("client-f");
+        assertThat(limiter.trackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrencyLimiter_ShouldRejectWhenLimitReached() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, Long.MAX_VALUE, clock::get);
+
+        // When & Then
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(-1);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void concurrencyLimiter_ShouldShrinkWhenLatencyRises() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 4, 200, 2.0, Long.MAX_VALUE, clock::get);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        int healthyLimit = limiter.getLimit();
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(200));
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(healthyLimit);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void concurrencyLimiter_ShouldGrowWhileLatencyIsStable() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 200, 2.0, Long.MAX_VALUE, clock::get);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+}
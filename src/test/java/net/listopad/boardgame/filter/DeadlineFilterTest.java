@@ -0,0 +1,57 @@
+package net.listopad.boardgame.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.DeadlineProperties;
+
+class DeadlineFilterTest {
+
+    private final DeadlineProperties properties = new DeadlineProperties();
+    private final DeadlineFilter filter;
+
+    DeadlineFilterTest() {
+        filter = new DeadlineFilter(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+    }
+
+    @Test
+    void timeoutFor_WithoutHeader_ShouldUseEndpointDefault() {
+        // When & Then
+        assertThat(filter.timeoutFor(request("/api/board-games/search", null))).isEqualTo(Duration.ofSeconds(3));
+        assertThat(filter.timeoutFor(request("/api/board-games/1", null))).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void timeoutFor_WithHeader_ShouldUseRequestedTimeoutCappedAtMaximum() {
+        // When & Then
+        assertThat(filter.timeoutFor(request("/api/board-games/search", "250"))).isEqualTo(Duration.ofMillis(250));
+        assertThat(filter.timeoutFor(request("/api/board-games/search", "5s"))).isEqualTo(Duration.ofSeconds(5));
+        assertThat(filter.timeoutFor(request("/api/board-games/search", "5m"))).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void timeoutFor_WithMalformedHeader_ShouldFallBackToEndpointDefault() {
+        // When & Then
+        assertThat(filter.timeoutFor(request("/api/board-games/search", "soon"))).isEqualTo(Duration.ofSeconds(3));
+        assertThat(filter.timeoutFor(request("/api/board-games/search", "-1s"))).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    private static MockHttpServletRequest request(String path, String timeout) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (timeout != null) {
+            request.addHeader("X-Request-Timeout", timeout);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,118 @@
+package net.listopad.boardgame.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.HistoryProperties;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+
+@ExtendWith(MockitoExtension.class)
+class BoardGameHistoryRecorderTest {
+
+    @Mock
+    private BoardGameHistoryRepository historyRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoardGameHistoryRecorder recorder;
+    private BoardGame testBoardGame;
+
+    @BeforeEach
+    void setUp() {
+        HistoryProperties properties = new HistoryProperties();
+        properties.setQueueCapacity(3);
+        properties.setBatchSize(2);
+        properties.setEnqueueTimeout(Duration.ofMillis(10));
+        recorder = new BoardGameHistoryRecorder(historyRepository, properties, meterRegistry);
+
+        testBoardGame = new BoardGame("RoboRally", "A race board game for 2-8 players", 3, 4, 90);
+        testBoardGame.setId(1L);
+    }
+
+    @Test
+    void onBoardGameChanged_ShouldQueueSnapshotOfLocalChange() {
+        // When
+        recorder.onBoardGameChanged(BoardGameChangedEvent.local(testBoardGame, ChangeType.UPDATED));
+        testBoardGame.setName("Changed after commit");
+        recorder.flushBatch();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BoardGameHistoryEntry>> batch = ArgumentCaptor.forClass(List.class);
+        verify(historyRepository).insertBatch(batch.capture());
+        assertThat(batch.getValue()).singleElement().satisfies(entry -> {
+            assertThat(entry.boardGameId()).isEqualTo(1L);
+            assertThat(entry.operation()).isEqualTo(ChangeType.UPDATED);
+            assertThat(entry.name()).isEqualTo("RoboRally");
+        });
+    }
+
+    @Test
+    void onBoardGameChanged_ShouldIgnoreRemoteChangesAndResync() {
+        // When
+        recorder.onBoardGameChanged(BoardGameChangedEvent.remote(1L, ChangeType.UPDATED));
+        recorder.onBoardGameChanged(BoardGameChangedEvent.resync());
+
+        // Then
+        assertThat(recorder.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void flushBatch_ShouldWriteAtMostBatchSize() {
+        // Given
+        recorder.onBoardGameChanged(BoardGameChangedEvent.local(testBoardGame, ChangeType.CREATED));
+        recorder.onBoardGameChanged(BoardGameChangedEvent.local(testBoardGame, ChangeType.UPDATED));
+        recorder.onBoardGameChanged(BoardGameChangedEvent.local(1L, ChangeType.DELETED));
+
+        // When
+        int written = recorder.flushBatch();
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        assertThat(recorder.getQueueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    void record_WhenQueueStaysFull_ShouldDropWithoutWritingInline() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            recorder.onBoardGameChanged(BoardGameChangedEvent.local(testBoardGame, ChangeType.UPDATED));
+        }
+
+        // When
+        recorder.onBoardGameChanged(BoardGameChangedEvent.local(testBoardGame, ChangeType.UPDATED));
+
+        // Then
+        verify(historyRepository, never()).insertBatch(anyList());
+        assertThat(recorder.getQueueDepth()).isEqualTo(3);
+        assertThat(meterRegistry.counter("board_games.history.dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void flushBatch_WhenWriteFails_ShouldKeepEntriesQueued() {
+        // Given
+        recorder.onBoardGameChanged(BoardGameChangedEvent.local(testBoardGame, ChangeType.UPDATED));
+        doThrow(new DataAccessResourceFailureException("down")).when(historyRepository).insertBatch(anyList());
+
+        // When & Then
+        assertThatThrownBy(() -> recorder.flushBatch()).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(recorder.getQueueDepth()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,95 @@
+package net.listopad.boardgame.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.ImageProperties;
+import net.listopad.boardgame.exception.PayloadTooLargeException;
+
+class ContentAddressedImageStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ImageProperties properties;
+    private ContentAddressedImageStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ImageProperties();
+        properties.setPath(directory);
+        properties.setMaxSize(DataSize.ofKilobytes(64));
+        properties.setThumbnailSize(32);
+        store = new ContentAddressedImageStore(properties);
+    }
+
+    @Test
+    void store_ShouldAddressContentBySha256AndDeduplicate() throws IOException {
+        // Given
+        byte[] png = png(200, 100);
+
+        // When
+        String first = store.store(new ByteArrayInputStream(png));
+        String second = store.store(new ByteArrayInputStream(png));
+
+        // Then
+        assertThat(first).hasSize(64).isEqualTo(second);
+        Path stored = store.find(first).orElseThrow();
+        assertThat(Files.readAllBytes(stored)).isEqualTo(png);
+        assertThat(store.mediaTypeOf(stored)).isEqualTo(MediaType.IMAGE_PNG);
+        assertThat(Files.list(directory.resolve("incoming"))).isEmpty();
+    }
+
+    @Test
+    void store_ShouldRejectNonImageAndOversizedContent() {
+        assertThatThrownBy(() -> store.store(new ByteArrayInputStream("not an image".getBytes())))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.store(new ByteArrayInputStream(new byte[128 * 1024])))
+            .isInstanceOf(PayloadTooLargeException.class);
+    }
+
+    @Test
+    void find_ShouldRejectHashesThatAreNotSha256Hex() {
+        assertThat(store.find("../../etc/passwd")).isEmpty();
+        assertThat(store.find("ABC")).isEmpty();
+    }
+
+    @Test
+    void generate_ShouldWriteScaledJpegThumbnail() throws IOException {
+        // Given
+        ThumbnailGenerator generator = new ThumbnailGenerator(store, properties, new SimpleMeterRegistry());
+        String hash = store.store(new ByteArrayInputStream(png(200, 100)));
+        Path target = store.thumbnailPath(hash);
+
+        // When
+        generator.generate(store.find(hash).orElseThrow(), target);
+
+        // Then
+        BufferedImage thumbnail = ImageIO.read(target.toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(32);
+        assertThat(thumbnail.getHeight()).isEqualTo(16);
+        generator.shutdown();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,132 @@
+package net.listopad.boardgame.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.ImageProperties;
+import net.listopad.boardgame.repository.BoardGameRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ImageGarbageCollectorTest {
+
+    private static final Instant NOW = Instant.parse("2026-05-01T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private BoardGameRepository boardGameRepository;
+
+    private ImageProperties properties;
+    private ContentAddressedImageStore store;
+    private ImageGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ImageProperties();
+        properties.setPath(directory);
+        properties.setGcGracePeriod(Duration.ofHours(1));
+        store = new ContentAddressedImageStore(properties);
+        collector = new ImageGarbageCollector(store, boardGameRepository, properties, new SimpleMeterRegistry(),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void sweep_ShouldTrashOldUnreferencedImagesAndPurgeThemOnLaterSweep() throws IOException {
+        // Given
+        String referenced = storeImage(10, NOW.minus(Duration.ofDays(1)));
+        String orphaned = storeImage(20, NOW.minus(Duration.ofDays(1)));
+        String recent = storeImage(30, NOW.minus(Duration.ofMinutes(5)));
+        Path orphanedThumbnail = store.thumbnailPath(orphaned);
+        Files.createDirectories(orphanedThumbnail.getParent());
+        Files.write(orphanedThumbnail, new byte[] {1});
+        when(boardGameRepository.findReferencedImageHashes(anyCollection())).thenReturn(Set.of(referenced));
+
+        // When
+        collector.sweep();
+
+        // Then
+        assertThat(store.find(referenced)).isPresent();
+        assertThat(store.find(orphaned)).isEmpty();
+        assertThat(orphanedThumbnail).doesNotExist();
+        assertThat(store.find(recent)).isPresent();
+
+        // When
+        collectorAt(NOW.plus(Duration.ofHours(2))).sweep();
+
+        // Then
+        assertThat(store.restore(orphaned)).isEmpty();
+        assertThat(store.find(referenced)).isPresent();
+    }
+
+    @Test
+    void sweep_ShouldRestoreTrashedImageReferencedAgain() throws IOException {
+        // Given
+        String hash = storeImage(10, NOW.minus(Duration.ofDays(1)));
+        when(boardGameRepository.findReferencedImageHashes(anyCollection())).thenReturn(Set.of());
+        collector.sweep();
+        assertThat(store.find(hash)).isEmpty();
+        // An upload of the same content committed after the reference check
+        when(boardGameRepository.findReferencedImageHashes(anyCollection())).thenReturn(Set.of(hash));
+
+        // When
+        collectorAt(NOW.plus(Duration.ofHours(2))).sweep();
+
+        // Then
+        assertThat(store.find(hash)).isPresent();
+    }
+
+    @Test
+    void sweep_ShouldKeepImageReuploadedDuringGracePeriod() throws IOException {
+        // Given
+        String hash = storeImage(10, NOW.minus(Duration.ofDays(1)));
+        store.store(new ByteArrayInputStream(png(10)));
+
+        // When
+        collector.sweep();
+
+        // Then
+        assertThat(store.find(hash)).isPresent();
+    }
+
+    private ImageGarbageCollector collectorAt(Instant now) {
+        return new ImageGarbageCollector(store, boardGameRepository, properties, new SimpleMeterRegistry(),
+            Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private String storeImage(int size, Instant modifiedAt) throws IOException {
+        String hash = store.store(new ByteArrayInputStream(png(size)));
+        Files.setLastModifiedTime(store.find(hash).orElseThrow(), FileTime.from(modifiedAt));
+        return hash;
+    }
+
+    private static byte[] png(int size) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
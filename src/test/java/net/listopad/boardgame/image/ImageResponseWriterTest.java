@@ -0,0 +1,132 @@
+package net.listopad.boardgame.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ImageResponseWriterTest {
+
+    private static final String ETAG = "\"abc\"";
+
+    @TempDir
+    Path directory;
+
+    private final ImageResponseWriter writer = new ImageResponseWriter();
+    private ImageFile image;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path path = directory.resolve("image");
+        Files.write(path, "0123456789".getBytes());
+        image = new ImageFile(path, MediaType.IMAGE_PNG, ETAG, true);
+    }
+
+    @Test
+    void write_ShouldSendWholeFileWithCacheHeaders() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(image, request, response);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable", "max-age=31536000");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    void write_ShouldSendRequestedRange() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(image, request, response);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+    }
+
+    @Test
+    void write_ShouldRejectUnsatisfiableRange() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(image, request, response);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void write_ShouldIgnoreRangeWhenIfRangeDoesNotMatch() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(image, request, response);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    void write_ShouldReturnNotModifiedForMatchingETag() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"abc\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(image, request, response);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void write_ShouldHandBodyToSendfileWhenConnectorSupportsIt() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.setAttribute(ImageResponseWriter.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(image, request, response);
+
+        // Then
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(ImageResponseWriter.SENDFILE_FILENAME))
+            .isEqualTo(image.path().toAbsolutePath().toString());
+        assertThat(request.getAttribute(ImageResponseWriter.SENDFILE_START)).isEqualTo(7L);
+        assertThat(request.getAttribute(ImageResponseWriter.SENDFILE_END)).isEqualTo(10L);
+    }
+}
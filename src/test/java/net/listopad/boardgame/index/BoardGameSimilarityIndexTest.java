@@ -0,0 +1,93 @@
+package net.listopad.boardgame.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.listopad.boardgame.entity.BoardGame;
+
+class BoardGameSimilarityIndexTest {
+
+    private BoardGameSimilarityIndex similarityIndex;
+
+    @BeforeEach
+    void setUp() {
+        similarityIndex = new BoardGameSimilarityIndex();
+        similarityIndex.rebuild(List.of(
+            game(1L, "Robo Rally", "Program robots to race across a dangerous factory floor", 2, 8, 120),
+            game(2L, "Factory Racers", "Race robots through a factory with conveyor belts", 2, 6, 90),
+            game(3L, "Word Party", "Quick word guessing for big groups", 4, 12, 15),
+            game(4L, "Trading Empire", "Build trade routes and an economic empire", 3, 5, 150)
+        ));
+    }
+
+    @Test
+    void findSimilar_ShouldRankClosestGameFirstAndExcludeSelf() {
+        // When
+        long[] similar = similarityIndex.findSimilar(1L, 3);
+
+        // Then
+        assertThat(similar).hasSize(3).doesNotContain(1L);
+        assertThat(similar[0]).isEqualTo(2L);
+    }
+
+    @Test
+    void findSimilar_WhenGameIsNotIndexed_ShouldReturnNull() {
+        // When & Then
+        assertThat(similarityIndex.findSimilar(99L, 3)).isNull();
+    }
+
+    @Test
+    void findSimilar_WithLimitAboveCatalogSize_ShouldReturnAllOtherGames() {
+        // When & Then
+        assertThat(similarityIndex.findSimilar(1L, 50)).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+
+    @Test
+    void remove_ShouldDropGameAndKeepOthersSearchable() {
+        // When
+        similarityIndex.remove(2L);
+
+        // Then
+        assertThat(similarityIndex.contains(2L)).isFalse();
+        assertThat(similarityIndex.findSimilar(1L, 5)).containsExactlyInAnyOrder(3L, 4L);
+        assertThat(similarityIndex.findSimilar(4L, 5)).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void upsert_ShouldReplaceVectorOfExistingGame() {
+        // When
+        similarityIndex.upsert(game(3L, "Robot Race", "Race robots across a factory floor", 2, 8, 120));
+
+        // Then
+        assertThat(similarityIndex.size()).isEqualTo(4);
+        assertThat(similarityIndex.findSimilar(1L, 1)).containsExactly(3L);
+    }
+
+    @Test
+    void upsert_ShouldGrowBeyondInitialCapacity() {
+        // Given
+        List<BoardGame> games = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            games.add(game(id, "Game " + id, "Description number " + id, 2, 4, (int) (id % 180)));
+        }
+        similarityIndex.rebuild(List.of());
+
+        // When
+        games.forEach(similarityIndex::upsert);
+
+        // Then
+        assertThat(similarityIndex.size()).isEqualTo(3000);
+        assertThat(similarityIndex.findSimilar(2999L, 10)).hasSize(10).doesNotContain(2999L);
+    }
+
+    private static BoardGame game(Long id, String name, String description, int minPlayers, int maxPlayers, int playTime) {
+        BoardGame game = new BoardGame(name, description, minPlayers, maxPlayers, playTime);
+        game.setId(id);
+        return game;
+    }
+}
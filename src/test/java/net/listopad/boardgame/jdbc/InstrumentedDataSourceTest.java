@@ -0,0 +1,152 @@
+package net.listopad.boardgame.jdbc;
+
+import static net.listopad.boardgame.jdbc.QueryCountAssertions.countQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.JdbcObservabilityProperties;
+
+class InstrumentedDataSourceTest {
+
+    private static final String SELECT_BY_ID = "select bg.id, bg.name from board_games bg where bg.id=?";
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource dataSource;
+    private PreparedStatement preparedStatement;
+    private ResultSet resultSet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        JdbcObservabilityProperties properties = new JdbcObservabilityProperties();
+        properties.setSlowQueryThreshold(Duration.ofSeconds(10));
+
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(preparedStatement.executeUpdate()).thenReturn(3);
+
+        dataSource = new InstrumentedDataSource(target, new StatementRecorder(meterRegistry, properties));
+    }
+
+    @Test
+    void executeQuery_ShouldRecordLatencyAndRowsWhenResultSetCloses() throws Exception {
+        // Given
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        // When
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID)) {
+            statement.setLong(1, 42L);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    // consume
+                }
+            }
+        }
+
+        // Then
+        assertThat(meterRegistry.get("board_games.jdbc.statement").tag("sql", SELECT_BY_ID).timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("board_games.jdbc.statement.rows").tag("sql", SELECT_BY_ID).summary().totalAmount())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void executeUpdate_ShouldRecordUpdateCount() throws Exception {
+        // When
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("delete from board_games where id=?")) {
+            statement.setLong(1, 1L);
+            statement.executeUpdate();
+        }
+
+        // Then
+        assertThat(meterRegistry.get("board_games.jdbc.statement.rows").tag("kind", "delete").summary().totalAmount())
+            .isEqualTo(3);
+    }
+
+    @Test
+    void countQueries_ShouldCountStatementsByKindAndShape() throws Exception {
+        // When
+        QueryCount count = countQueries(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                for (long id = 1; id <= 3; id++) {
+                    try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID)) {
+                        statement.setLong(1, id);
+                        statement.executeQuery().close();
+                    }
+                }
+                try (PreparedStatement statement = connection.prepareStatement("update board_games set name=? where id=?")) {
+                    statement.executeUpdate();
+                }
+            }
+        });
+
+        // Then
+        assertThat(count.getTotal()).isEqualTo(4);
+        assertThat(count.getSelect()).isEqualTo(3);
+        assertThat(count.getUpdate()).isEqualTo(1);
+        assertThat(count.getShapes()).containsEntry(SELECT_BY_ID, 3);
+    }
+
+    @Test
+    void metersFor_ShouldCacheBySqlTextUpToTheBound() {
+        // Given
+        JdbcObservabilityProperties properties = new JdbcObservabilityProperties();
+        properties.setMaxCachedStatements(2);
+        StatementRecorder recorder = new StatementRecorder(meterRegistry, properties);
+
+        // When
+        StatementRecorder.StatementMeters first = recorder.metersFor(SELECT_BY_ID);
+        StatementRecorder.StatementMeters again = recorder.metersFor(SELECT_BY_ID);
+        recorder.metersFor("select id from board_games where id = 1");
+        recorder.metersFor("select id from board_games where id = 2");
+        StatementRecorder.StatementMeters uncached = recorder.metersFor("select id from board_games where id = 3");
+
+        // Then
+        assertThat(again).isSameAs(first);
+        assertThat(recorder.cachedStatements()).isEqualTo(2);
+        assertThat(uncached.shape()).isEqualTo("select id from board_games where id = ?");
+        assertThat(uncached).isSameAs(recorder.metersFor("select id from board_games where id = 2"));
+    }
+
+    @Test
+    void record_ShouldPublishConfiguredLatencyBuckets() throws Exception {
+        // When
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID)) {
+            statement.executeQuery().close();
+        }
+
+        // Then
+        assertThat(meterRegistry.get("board_games.jdbc.statement").tag("sql", SELECT_BY_ID).timer()
+            .takeSnapshot().histogramCounts()).hasSize(new JdbcObservabilityProperties().getLatencyBuckets().size());
+        assertThat(meterRegistry.find("board_games.jdbc.statement").tag("outcome", "error").timers()).isEmpty();
+    }
+
+    @Test
+    void statementShapes_ShouldReplaceLiterals() {
+        // When & Then
+        assertThat(StatementShapes.of("select *  from board_games where name = 'Catan' and id = 12"))
+            .isEqualTo("select * from board_games where name = ? and id = ?");
+        assertThat(StatementShapes.of("select t1.col2 from t1")).isEqualTo("select t1.col2 from t1");
+    }
+}
@@ -0,0 +1,45 @@
+package net.listopad.boardgame.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query budget assertions for tests, e.g.
+ * {@code assertMaxQueries(1, () -> mockMvc.perform(get("/api/board-games/1")))}.
+ * Counting is bound to the calling thread, which is where MockMvc runs the request.
+ */
+public final class QueryCountAssertions {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryCountAssertions() {
+    }
+
+    public static QueryCount countQueries(Action action) throws Exception {
+        QueryCount count = QueryCountHolder.start();
+        try {
+            action.run();
+        } finally {
+            QueryCountHolder.stop(count);
+        }
+        return count;
+    }
+
+    public static QueryCount assertMaxQueries(int max, Action action) throws Exception {
+        QueryCount count = countQueries(action);
+        assertThat(count.getTotal())
+            .as("statements executed: %s", count)
+            .isLessThanOrEqualTo(max);
+        return count;
+    }
+
+    public static QueryCount assertMaxSelects(int max, Action action) throws Exception {
+        QueryCount count = countQueries(action);
+        assertThat(count.getSelect())
+            .as("select statements executed: %s", count)
+            .isLessThanOrEqualTo(max);
+        return count;
+    }
+}
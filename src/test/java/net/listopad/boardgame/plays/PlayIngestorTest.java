@@ -0,0 +1,209 @@
+package net.listopad.boardgame.plays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.PlaysProperties;
+import net.listopad.boardgame.exception.ServiceOverloadedException;
+
+@ExtendWith(MockitoExtension.class)
+class PlayIngestorTest {
+
+    @Mock
+    private PlayRepository playRepository;
+
+    private PlaysProperties properties;
+    private PlayIngestor ingestor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PlaysProperties();
+        properties.setBufferCapacity(5);
+        properties.setBatchSize(3);
+        ingestor = new PlayIngestor(playRepository, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void submit_ShouldAcknowledgeOnceTheLastPlayIsWritten() {
+        // Given
+        CompletableFuture<Void> ack = ingestor.submit(plays(4));
+
+        // When
+        ingestor.flushBatch();
+
+        // Then
+        assertThat(ack).isNotDone();
+        assertThat(ingestor.getBufferedCount()).isEqualTo(1);
+
+        // When
+        ingestor.flushBatch();
+
+        // Then
+        assertThat(ack).isCompleted();
+        assertThat(ingestor.getBufferedCount()).isZero();
+    }
+
+    @Test
+    void submit_ShouldRejectWholeRequestWhenBufferIsFull() {
+        // Given
+        ingestor.submit(plays(4));
+
+        // When / Then
+        assertThatThrownBy(() -> ingestor.submit(plays(2)))
+            .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(ingestor.getBufferedCount()).isEqualTo(4);
+    }
+
+    @Test
+    void flushBatch_ShouldWriteInSubmissionOrder() {
+        // Given
+        List<PlayRecord> first = plays(2);
+        List<PlayRecord> second = plays(1);
+        ingestor.submit(first);
+        ingestor.submit(second);
+
+        // When
+        ingestor.flushBatch();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PlayRecord>> batch = ArgumentCaptor.forClass(List.class);
+        verify(playRepository).insertBatch(batch.capture());
+        assertThat(batch.getValue()).containsExactly(first.get(0), first.get(1), second.get(0));
+    }
+
+    @Test
+    void flushBatch_ShouldKeepPlaysBufferedWhenWriteFails() {
+        // Given
+        doThrow(new DataAccessResourceFailureException("down")).when(playRepository).insertBatch(anyList());
+        CompletableFuture<Void> ack = ingestor.submit(plays(2));
+
+        // When
+        int flushed = ingestor.flushBatch();
+
+        // Then
+        assertThat(flushed).isEqualTo(-1);
+        assertThat(ack).isNotDone();
+        assertThat(ingestor.getBufferedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void flushBatch_ShouldNeverDropPlaysWhileTheDatabaseIsDown() {
+        // Given
+        doThrow(new DataAccessResourceFailureException("down")).when(playRepository).insertBatch(anyList());
+        CompletableFuture<Void> ack = ingestor.submit(plays(3));
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            ingestor.flushBatch();
+        }
+
+        // Then
+        assertThat(ack).isNotDone();
+        assertThat(ingestor.getBufferedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void flushBatch_ShouldDeadLetterOnlyThePlayTheDatabaseRejects() {
+        // Given
+        List<PlayRecord> good = List.of(new PlayRecord(2L, LocalDate.of(2026, 1, 1), 4, null, null, LocalDateTime.now()));
+        List<PlayRecord> withPoison = plays(2);
+        PlayRecord poison = withPoison.get(1);
+        doAnswer(invocation -> {
+            List<PlayRecord> batch = invocation.getArgument(0);
+            if (batch.contains(poison)) {
+                throw new DataIntegrityViolationException("invalid date");
+            }
+            return null;
+        }).when(playRepository).insertBatch(anyList());
+        CompletableFuture<Void> goodAck = ingestor.submit(good);
+        CompletableFuture<Void> poisonedAck = ingestor.submit(withPoison);
+
+        // When
+        for (int i = 0; i < 10 && ingestor.getBufferedCount() > 0; i++) {
+            ingestor.flushBatch();
+        }
+
+        // Then
+        assertThat(ingestor.getBufferedCount()).isZero();
+        assertThat(goodAck).isCompleted();
+        assertThat(poisonedAck).isCompletedExceptionally();
+        verify(playRepository).insertBatch(List.of(good.get(0)));
+        verify(playRepository).insertBatch(List.of(withPoison.get(0)));
+    }
+
+    @Test
+    void stop_ShouldNotDrainWhileTheFlusherIsStillWriting() throws Exception {
+        // Given
+        properties.setShutdownTimeout(Duration.ofMillis(100));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(playRepository).insertBatch(anyList());
+        ingestor.start();
+        ingestor.submit(plays(3));
+        ingestor.submit(plays(1));
+        ingestor.flushSoon();
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        ingestor.stop();
+
+        // Then
+        verify(playRepository, times(1)).insertBatch(anyList());
+        release.countDown();
+    }
+
+    @Test
+    void playBatch_ShouldAcceptSingleObjectOrArray() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        // When
+        PlayBatch single = objectMapper.readValue("{\"playedOn\":\"2026-01-02\",\"playerCount\":3}", PlayBatch.class);
+        PlayBatch array = objectMapper.readValue(
+            "[{\"playedOn\":\"2026-01-02\",\"playerCount\":3},{\"playedOn\":\"2026-01-03\",\"playerCount\":2}]",
+            PlayBatch.class);
+
+        // Then
+        assertThat(single.plays()).containsExactly(new PlayRequest(LocalDate.of(2026, 1, 2), 3, null, null));
+        assertThat(array.plays()).hasSize(2);
+    }
+
+    private static List<PlayRecord> plays(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        return IntStream.range(0, count)
+            .mapToObj(i -> new PlayRecord(1L, LocalDate.of(2026, 1, 1).plusDays(i), 2 + i, 60, 7L, now))
+            .toList();
+    }
+}
@@ -0,0 +1,141 @@
+package net.listopad.boardgame.popularity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.PopularityProperties;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+
+@ExtendWith(MockitoExtension.class)
+class PopularityCountersTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @Mock
+    private ViewCountRepository viewCountRepository;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private TrendingTracker trendingTracker;
+    private ViewCounter viewCounter;
+
+    @BeforeEach
+    void setUp() {
+        PopularityProperties properties = new PopularityProperties();
+        properties.setHalfLife(Duration.ofHours(1));
+        properties.setTrendingCapacity(2);
+        trendingTracker = new TrendingTracker(properties, now::get);
+        viewCounter = new ViewCounter(viewCountRepository, trendingTracker, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void flush_ShouldWriteAccumulatedCountsInOneBatch() {
+        // Given
+        viewCounter.recordView(1L);
+        viewCounter.recordView(1L);
+        viewCounter.recordView(2L);
+
+        // When
+        viewCounter.flush();
+        viewCounter.flush();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, Long>> views = ArgumentCaptor.forClass(Map.class);
+        verify(viewCountRepository).addViews(views.capture(), any());
+        assertThat(views.getValue()).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 2L, 2L, 1L));
+    }
+
+    @Test
+    void flush_ShouldKeepCountsWhenWriteFails() {
+        // Given
+        viewCounter.recordView(1L);
+        doThrow(new DataAccessResourceFailureException("down")).when(viewCountRepository).addViews(anyMap(), any());
+        viewCounter.flush();
+        viewCounter.recordView(1L);
+
+        // When
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, Long>> views = ArgumentCaptor.forClass(Map.class);
+        viewCounter.flush();
+
+        // Then
+        verify(viewCountRepository, times(2)).addViews(views.capture(), any());
+        assertThat(views.getAllValues().get(1)).containsEntry(1L, 2L);
+    }
+
+    @Test
+    void top_ShouldFavourRecentViewsOverOlderOnes() {
+        // Given - three old views of game 1, two fresh views of game 2 three half-lives later
+        trendingTracker.record(1L);
+        trendingTracker.record(1L);
+        trendingTracker.record(1L);
+        now.addAndGet(3 * HOUR);
+        trendingTracker.record(2L);
+        trendingTracker.record(2L);
+
+        // When
+        List<TrendingTracker.Entry> top = trendingTracker.top(10);
+
+        // Then
+        assertThat(top).extracting(TrendingTracker.Entry::id).containsExactly(2L, 1L);
+        assertThat(top.get(0).score()).isCloseTo(2.0, within(1e-9));
+        assertThat(top.get(1).score()).isCloseTo(3.0 / 8, within(1e-9));
+    }
+
+    @Test
+    void record_ShouldPruneToCapacityAndKeepScoresAcrossRebase() {
+        // Given
+        trendingTracker.record(1L);
+        trendingTracker.record(1L);
+        trendingTracker.record(2L);
+        trendingTracker.record(3L);
+        trendingTracker.record(4L);
+
+        // Then - pruned back once the table reached twice the capacity
+        assertThat(trendingTracker.size()).isEqualTo(2);
+        assertThat(trendingTracker.top(1)).extracting(TrendingTracker.Entry::id).containsExactly(1L);
+
+        // When - far enough ahead that the landmark has to move
+        now.addAndGet(100 * HOUR);
+        trendingTracker.record(2L);
+
+        // Then
+        assertThat(trendingTracker.top(1)).extracting(TrendingTracker.Entry::id).containsExactly(2L);
+        assertThat(trendingTracker.top(1).get(0).score()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void onBoardGameChanged_ShouldForgetDeletedGames() {
+        // Given
+        viewCounter.recordView(1L);
+
+        // When
+        viewCounter.onBoardGameChanged(BoardGameChangedEvent.remote(1L, ChangeType.DELETED));
+        viewCounter.flush();
+
+        // Then
+        assertThat(trendingTracker.top(10)).isEmpty();
+        verify(viewCountRepository, never()).addViews(anyMap(), any());
+    }
+}
@@ -0,0 +1,135 @@
+package net.listopad.boardgame.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoardGameQueryCompilerTest {
+
+    private final BoardGameQueryCompiler compiler = new BoardGameQueryCompiler(new SimpleMeterRegistry());
+
+    @Test
+    void compile_ShouldBuildSingleParameterizedStatement() {
+        // Given
+        BoardGameQuery query = new BoardGameQuery(List.of(
+            new QueryFilter("name", "contains", "Catan"),
+            new QueryFilter("players", "between", List.of(3, 5)),
+            new QueryFilter("playTimeMinutes", "lt", 60),
+            new QueryFilter("createdAt", "gte", "2026-01-01")),
+            List.of(new QuerySort("playTimeMinutes", "asc")), 20);
+
+        // When
+        CompiledQuery compiled = compiler.compile(query);
+
+        // Then
+        assertThat(compiled.sql()).isEqualTo(
+            "SELECT id, name, description, min_players, max_players, play_time_minutes, image_hash, created_at, "
+                + "updated_at, version FROM board_games WHERE LOWER(name) LIKE :p0 "
+                + "AND min_players <= :p1 AND max_players >= :p2 AND play_time_minutes < :p3 AND created_at >= :p4 "
+                + "ORDER BY play_time_minutes ASC, id ASC LIMIT :limit");
+        assertThat(compiled.parameters()).containsExactly(
+            Map.entry("p0", "%catan%"),
+            Map.entry("p1", 3),
+            Map.entry("p2", 5),
+            Map.entry("p3", 60),
+            Map.entry("p4", LocalDateTime.of(2026, 1, 1, 0, 0)),
+            Map.entry("limit", 20));
+    }
+
+    @Test
+    void compile_WithReorderedFiltersAndOtherValues_ShouldReuseCachedShape() {
+        // Given
+        BoardGameQuery first = new BoardGameQuery(List.of(
+            new QueryFilter("playTimeMinutes", "lte", 60),
+            new QueryFilter("name", "startsWith", "Ticket")), null, null);
+        BoardGameQuery second = new BoardGameQuery(List.of(
+            new QueryFilter("name", "startsWith", "Pandemic"),
+            new QueryFilter("playTimeMinutes", "lte", 45)), null, 10);
+
+        // When
+        CompiledQuery compiledFirst = compiler.compile(first);
+        CompiledQuery compiledSecond = compiler.compile(second);
+
+        // Then
+        assertThat(compiledFirst.cachedShape()).isFalse();
+        assertThat(compiledSecond.cachedShape()).isTrue();
+        assertThat(compiledSecond.sql()).isSameAs(compiledFirst.sql());
+        assertThat(compiledSecond.shape()).isEqualTo("name startsWith and playTimeMinutes lte");
+        assertThat(compiledSecond.parameters()).containsEntry("p0", "pandemic%").containsEntry("p1", 45);
+        assertThat(compiler.cachedShapes()).isEqualTo(1);
+    }
+
+    @Test
+    void compile_WithInFilter_ShouldBindOneArrayWhateverItsLength() {
+        // When
+        CompiledQuery two = compiler.compile(new BoardGameQuery(
+            List.of(new QueryFilter("id", "in", List.of(1, 2))), null, null));
+        CompiledQuery three = compiler.compile(new BoardGameQuery(
+            List.of(new QueryFilter("id", "in", List.of(1, 2, 3))), null, null));
+
+        // Then
+        assertThat(three.sql()).isSameAs(two.sql()).contains("id = ANY(:p0)");
+        assertThat((Long[]) three.parameters().get("p0")).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void compile_ShouldEscapeLikeWildcards() {
+        // When
+        CompiledQuery compiled = compiler.compile(new BoardGameQuery(
+            List.of(new QueryFilter("description", "contains", "100%_fun")), null, null));
+
+        // Then
+        assertThat(compiled.parameters()).containsEntry("p0", "%100\\%\\_fun%");
+    }
+
+    @Test
+    void compile_WithDescendingSort_ShouldBreakTiesInSameDirection() {
+        // When
+        CompiledQuery compiled = compiler.compile(new BoardGameQuery(
+            null, List.of(new QuerySort("createdAt", "DESC")), null));
+
+        // Then
+        assertThat(compiled.sql()).endsWith("FROM board_games ORDER BY created_at DESC, id DESC LIMIT :limit");
+        assertThat(compiled.shape()).isEqualTo("all order by createdAt desc");
+    }
+
+    @Test
+    void compile_WithInvalidInput_ShouldReject() {
+        // When & Then
+        assertThatThrownBy(() -> compiler.compile(new BoardGameQuery(
+            List.of(new QueryFilter("name; DROP TABLE board_games", "eq", "x")), null, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unknown field");
+        assertThatThrownBy(() -> compiler.compile(new BoardGameQuery(
+            List.of(new QueryFilter("playTimeMinutes", "contains", "6")), null, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("not supported");
+        assertThatThrownBy(() -> compiler.compile(new BoardGameQuery(
+            List.of(new QueryFilter("players", "between", List.of(3))), null, null)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compiler.compile(new BoardGameQuery(
+            List.of(new QueryFilter("players", "between", List.of(5, 3))), null, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("from <= to");
+        assertThatThrownBy(() -> compiler.compile(new BoardGameQuery(
+            List.of(new QueryFilter("createdAt", "between", List.of("2026-02-01", "2026-01-01"))), null, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("from <= to");
+        assertThatThrownBy(() -> compiler.compile(new BoardGameQuery(
+            List.of(new QueryFilter("createdAt", "gte", "last year")), null, null)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compiler.compile(new BoardGameQuery(
+            null, List.of(new QuerySort("description", "asc")), null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Cannot sort");
+        assertThatThrownBy(() -> compiler.compile(new BoardGameQuery(null, null, 501)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
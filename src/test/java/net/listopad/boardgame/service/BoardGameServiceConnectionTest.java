@@ -0,0 +1,130 @@
+package net.listopad.boardgame.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.cache.BoardGameNearCache;
+import net.listopad.boardgame.cache.SearchResultCache;
+import net.listopad.boardgame.config.NearCacheProperties;
+import net.listopad.boardgame.config.SearchCacheProperties;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.index.BoardGameSimilarityIndex;
+import net.listopad.boardgame.repository.BoardGameRepository;
+
+/**
+ * Runs the service behind the same transaction interceptor Spring applies and
+ * counts the connections checked out of a stand-in pool.
+ */
+class BoardGameServiceConnectionTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger peakConnections = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getBoardGameById_WithConcurrentFollowers_ShouldHoldOneConnection() throws Exception {
+        // Given
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(countingDataSource());
+        TransactionTemplate repositoryTransaction = new TransactionTemplate(transactionManager);
+        repositoryTransaction.setReadOnly(true);
+        CountDownLatch release = new CountDownLatch(1);
+        BoardGame game = new BoardGame("Robo Rally", "A race board game", 2, 8, 90);
+        game.setId(1L);
+        BoardGameRepository repository = mock(BoardGameRepository.class);
+        // Like SimpleJpaRepository, the query runs in its own read-only transaction
+        when(repository.findById(1L)).thenAnswer(invocation -> repositoryTransaction.execute(status -> {
+            await(release);
+            return Optional.of(game);
+        }));
+        BoardGameService service = transactional(new BoardGameService(repository,
+            new RequestCoalescer(meterRegistry),
+            new BoardGameNearCache(new NearCacheProperties(), new SimpleMeterRegistry()),
+            new SearchResultCache(new SearchCacheProperties(), new SimpleMeterRegistry()),
+            mock(ApplicationEventPublisher.class), new BoardGameSimilarityIndex(),
+            new TransactionTemplate(transactionManager)), transactionManager);
+        List<Future<Optional<BoardGame>>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> service.getBoardGameById(1L)));
+        }
+        waitForFollowers(7);
+        int peakWhileWaiting = peakConnections.get();
+        release.countDown();
+
+        // Then
+        for (Future<Optional<BoardGame>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).contains(game);
+        }
+        assertThat(peakWhileWaiting).isEqualTo(1);
+        assertThat(openConnections).hasValue(0);
+    }
+
+    private DataSource countingDataSource() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            peakConnections.accumulateAndGet(openConnections.incrementAndGet(), Math::max);
+            Connection connection = mock(Connection.class);
+            doAnswer(close -> openConnections.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+        return dataSource;
+    }
+
+    private static BoardGameService transactional(BoardGameService target, TransactionManager transactionManager) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        return (BoardGameService) factory.getProxy();
+    }
+
+    private void waitForFollowers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("board_games.coalescing.requests").tag("role", "follower").functionCounter().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        // Followers register before they block; give them a moment to reach the wait
+        Thread.sleep(50);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
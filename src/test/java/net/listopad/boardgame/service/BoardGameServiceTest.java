@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,9 +21,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.cache.BoardGameNearCache;
+import net.listopad.boardgame.cache.SearchResultCache;
+import net.listopad.boardgame.config.NearCacheProperties;
+import net.listopad.boardgame.config.SearchCacheProperties;
 import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.exception.ConflictException;
+import net.listopad.boardgame.exception.PreconditionFailedException;
+import net.listopad.boardgame.index.BoardGameSimilarityIndex;
 import net.listopad.boardgame.repository.BoardGameRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +46,24 @@ class BoardGameServiceTest {
     @Mock
     private BoardGameRepository boardGameRepository;
 
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
+    @Spy
+    private BoardGameNearCache nearCache = new BoardGameNearCache(new NearCacheProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private SearchResultCache searchResultCache = new SearchResultCache(new SearchCacheProperties(), new SimpleMeterRegistry());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private BoardGameSimilarityIndex similarityIndex = new BoardGameSimilarityIndex();
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private BoardGameService boardGameService;
 
@@ -401,4 +435,281 @@ class BoardGameServiceTest {
         
         verify(boardGameRepository, never()).findByName(anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBoardGameById_WhenNearCacheIsSynced_ShouldQueryRepositoryOnce() {
+        // Given
+        nearCache.setSynced(true);
+        when(boardGameRepository.findById(1L)).thenReturn(Optional.of(testBoardGame));
+
+        // When
+        boardGameService.getBoardGameById(1L);
+        Optional<BoardGame> result = boardGameService.getBoardGameById(1L);
+
+        // Then
+        assertThat(result).contains(testBoardGame);
+        verify(boardGameRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void deleteBoardGame_WhenGameExists_ShouldPublishChangeEvent() {
+        // Given
+        when(boardGameRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        boardGameService.deleteBoardGame(1L);
+
+        // Then
+        verify(eventPublisher).publishEvent(BoardGameChangedEvent.local(1L, BoardGameChangedEvent.ChangeType.DELETED));
+    }
+
+    @Test
+    void findSimilarBoardGames_ShouldReturnGamesInSimilarityOrder() {
+        // Given
+        BoardGame racer = new BoardGame("Race Cars", "A race board game with robots", 3, 4, 90);
+        racer.setId(2L);
+        BoardGame party = new BoardGame("Party Words", "A quick word guessing party game", 4, 10, 15);
+        party.setId(3L);
+        similarityIndex.rebuild(List.of(testBoardGame, racer, party));
+        when(boardGameRepository.findAllById(any())).thenReturn(List.of(party, racer));
+
+        // When
+        Optional<List<BoardGame>> result = boardGameService.findSimilarBoardGames(1L, 2);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get()).containsExactly(racer, party);
+    }
+
+    @Test
+    void findSimilarBoardGames_WithCachedGames_ShouldLoadOnlyMissingOnes() {
+        // Given
+        BoardGame racer = new BoardGame("Race Cars", "A race board game with robots", 3, 4, 90);
+        racer.setId(2L);
+        BoardGame party = new BoardGame("Party Words", "A quick word guessing party game", 4, 10, 15);
+        party.setId(3L);
+        similarityIndex.rebuild(List.of(testBoardGame, racer, party));
+        nearCache.setSynced(true);
+        nearCache.get(2L, () -> Optional.of(racer));
+        when(boardGameRepository.findAllById(List.of(3L))).thenReturn(List.of(party));
+
+        // When
+        Optional<List<BoardGame>> result = boardGameService.findSimilarBoardGames(1L, 2);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get()).containsExactly(racer, party);
+        verify(boardGameRepository).findAllById(List.of(3L));
+    }
+
+    @Test
+    void findSimilarBoardGames_WhenGameDoesNotExist_ShouldReturnEmpty() {
+        // Given
+        when(boardGameRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When
+        Optional<List<BoardGame>> result = boardGameService.findSimilarBoardGames(99L, 5);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(boardGameRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void searchBoardGames_WithEquivalentKeywords_ShouldQueryRepositoryOnce() {
+        // Given
+        searchResultCache.setSynced(true);
+        List<BoardGame> expectedGames = Arrays.asList(testBoardGame);
+        when(boardGameRepository.findByKeyword("Robo")).thenReturn(expectedGames);
+
+        // When
+        boardGameService.searchBoardGames("Robo");
+        List<BoardGame> actualGames = boardGameService.searchBoardGames("  robo ");
+
+        // Then
+        assertThat(actualGames).containsExactly(testBoardGame);
+        verify(boardGameRepository, times(1)).findByKeyword(anyString());
+    }
+
+    @Test
+    void searchBoardGames_AfterWrite_ShouldQueryRepositoryAgain() {
+        // Given
+        searchResultCache.setSynced(true);
+        when(boardGameRepository.findByKeyword("Robo")).thenReturn(Arrays.asList(testBoardGame));
+        boardGameService.searchBoardGames("Robo");
+
+        // When
+        searchResultCache.onBoardGameChanged(BoardGameChangedEvent.local(1L, BoardGameChangedEvent.ChangeType.UPDATED));
+        boardGameService.searchBoardGames("Robo");
+
+        // Then
+        verify(boardGameRepository, times(2)).findByKeyword("Robo");
+    }
+
+    @Test
+    void searchBoardGames_WhenChangeListenerIsNotSynced_ShouldBypassCache() {
+        // Given
+        when(boardGameRepository.findByKeyword("Robo")).thenReturn(Arrays.asList(testBoardGame));
+
+        // When
+        boardGameService.searchBoardGames("Robo");
+        boardGameService.searchBoardGames("Robo");
+
+        // Then
+        verify(boardGameRepository, times(2)).findByKeyword("Robo");
+    }
+
+    @Test
+    void searchBoardGames_CallerModifyingResult_ShouldNotChangeCachedResult() {
+        // Given
+        searchResultCache.setSynced(true);
+        when(boardGameRepository.findByKeyword("Robo")).thenReturn(Arrays.asList(testBoardGame));
+        boardGameService.searchBoardGames("Robo").get(0).setName("Changed by caller");
+
+        // When
+        BoardGame first = boardGameService.searchBoardGames("Robo").get(0);
+        first.setName("Changed again");
+        BoardGame second = boardGameService.searchBoardGames("Robo").get(0);
+
+        // Then
+        assertThat(second.getName()).isEqualTo("Robo Rally");
+        verify(boardGameRepository, times(1)).findByKeyword("Robo");
+    }
+
+    @Test
+    void updateBoardGame_WithMatchingVersion_ShouldUpdate() {
+        // Given
+        testBoardGame.setVersion(3L);
+        when(boardGameRepository.findById(1L)).thenReturn(Optional.of(testBoardGame));
+        when(boardGameRepository.findByName(anyString())).thenReturn(Optional.empty());
+        when(boardGameRepository.save(any(BoardGame.class))).thenReturn(testBoardGame);
+
+        // When
+        Optional<BoardGame> result = boardGameService.updateBoardGame(1L, updateDto, 3L);
+
+        // Then
+        assertThat(result).isPresent();
+        verify(boardGameRepository).save(testBoardGame);
+    }
+
+    @Test
+    void updateBoardGame_WithStaleVersion_ShouldThrowPreconditionFailed() {
+        // Given
+        testBoardGame.setVersion(4L);
+        when(boardGameRepository.findById(1L)).thenReturn(Optional.of(testBoardGame));
+
+        // When & Then
+        assertThatThrownBy(() -> boardGameService.updateBoardGame(1L, updateDto, 3L))
+            .isInstanceOf(PreconditionFailedException.class);
+
+        verify(boardGameRepository, never()).save(any(BoardGame.class));
+    }
+
+    @Test
+    void updateBoardGame_WithoutVersion_ShouldRetryOnConcurrentModification() {
+        // Given
+        when(boardGameRepository.findById(1L)).thenReturn(Optional.of(testBoardGame));
+        when(boardGameRepository.findByName(anyString())).thenReturn(Optional.empty());
+        when(boardGameRepository.save(any(BoardGame.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(BoardGame.class, 1L))
+            .thenReturn(testBoardGame);
+
+        // When
+        Optional<BoardGame> result = boardGameService.updateBoardGame(1L, updateDto);
+
+        // Then
+        assertThat(result).isPresent();
+        verify(boardGameRepository, times(2)).findById(1L);
+        verify(boardGameRepository, times(2)).save(any(BoardGame.class));
+    }
+
+    @Test
+    void updateBoardGame_WithoutVersion_ShouldKeepOtherWritersDisjointChanges() {
+        // Given
+        BoardGame base = game(1L, 3L, "Robo Rally", "A race board game", 60);
+        BoardGame latest = game(1L, 4L, "Robo Rally", "A race board game", 90);
+        BoardGame patch = new BoardGame();
+        patch.setDescription("Program your robot");
+        when(boardGameRepository.findById(1L)).thenReturn(Optional.of(base), Optional.of(latest));
+        when(boardGameRepository.save(any(BoardGame.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(BoardGame.class, 1L))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Optional<BoardGame> result = boardGameService.updateBoardGame(1L, patch);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getDescription()).isEqualTo("Program your robot");
+        assertThat(result.get().getPlayTimeMinutes()).isEqualTo(90);
+    }
+
+    @Test
+    void updateBoardGame_WithoutVersion_WhenOtherWriterChangedSameField_ShouldThrowConflict() {
+        // Given
+        BoardGame base = game(1L, 3L, "Robo Rally", "A race board game", 60);
+        BoardGame latest = game(1L, 4L, "Robo Rally", "Changed by someone else", 60);
+        BoardGame patch = new BoardGame();
+        patch.setDescription("Program your robot");
+        when(boardGameRepository.findById(1L)).thenReturn(Optional.of(base), Optional.of(latest));
+        when(boardGameRepository.save(any(BoardGame.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(BoardGame.class, 1L));
+
+        // When & Then
+        assertThatThrownBy(() -> boardGameService.updateBoardGame(1L, patch))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("description");
+
+        verify(boardGameRepository, times(1)).save(any(BoardGame.class));
+    }
+
+    @Test
+    void updateBoardGame_WithVersion_ShouldNotRetryOnConcurrentModification() {
+        // Given
+        testBoardGame.setVersion(3L);
+        when(boardGameRepository.findById(1L)).thenReturn(Optional.of(testBoardGame));
+        when(boardGameRepository.findByName(anyString())).thenReturn(Optional.empty());
+        when(boardGameRepository.save(any(BoardGame.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(BoardGame.class, 1L));
+
+        // When & Then
+        assertThatThrownBy(() -> boardGameService.updateBoardGame(1L, updateDto, 3L))
+            .isInstanceOf(PreconditionFailedException.class);
+
+        verify(boardGameRepository, times(1)).save(any(BoardGame.class));
+    }
+
+    @Test
+    void deleteBoardGame_WithStaleVersion_ShouldThrowPreconditionFailed() {
+        // Given
+        testBoardGame.setVersion(2L);
+        when(boardGameRepository.findById(1L)).thenReturn(Optional.of(testBoardGame));
+
+        // When & Then
+        assertThatThrownBy(() -> boardGameService.deleteBoardGame(1L, 1L))
+            .isInstanceOf(PreconditionFailedException.class);
+
+        verify(boardGameRepository, never()).delete(any(BoardGame.class));
+    }
+
+    @Test
+    void deleteBoardGame_WithMatchingVersion_ShouldDeleteEntity() {
+        // Given
+        testBoardGame.setVersion(2L);
+        when(boardGameRepository.findById(1L)).thenReturn(Optional.of(testBoardGame));
+
+        // When
+        boolean result = boardGameService.deleteBoardGame(1L, 2L);
+
+        // Then
+        assertThat(result).isTrue();
+        verify(boardGameRepository).delete(testBoardGame);
+    }
+
+    private static BoardGame game(Long id, Long version, String name, String description, Integer playTimeMinutes) {
+        BoardGame game = new BoardGame(name, description, 2, 8, playTimeMinutes);
+        game.setId(id);
+        game.setVersion(version);
+        return game;
+    }
+}
@@ -0,0 +1,56 @@
+package net.listopad.boardgame.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import net.listopad.boardgame.config.PlaysProperties;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.plays.PlayIngestor;
+import net.listopad.boardgame.plays.PlayRepository;
+import net.listopad.boardgame.plays.PlayRequest;
+
+@ExtendWith(MockitoExtension.class)
+class PlayServiceTest {
+
+    @Mock
+    private BoardGameService boardGameService;
+
+    @Mock
+    private PlayIngestor playIngestor;
+
+    @Mock
+    private PlayRepository playRepository;
+
+    private PlayService playService;
+
+    @BeforeEach
+    void setUp() {
+        playService = new PlayService(boardGameService, playIngestor, playRepository, new PlaysProperties());
+    }
+
+    @Test
+    void recordPlays_ShouldRejectDatesBeforeMinimumYear() {
+        // Given
+        when(boardGameService.getBoardGameById(1L)).thenReturn(Optional.of(new BoardGame()));
+        List<PlayRequest> requests = List.of(new PlayRequest(LocalDate.of(-1, 1, 1), 2, null, null));
+
+        // When / Then
+        assertThatThrownBy(() -> playService.recordPlays(1L, requests))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("1900");
+        verify(playIngestor, never()).submit(anyList());
+    }
+}
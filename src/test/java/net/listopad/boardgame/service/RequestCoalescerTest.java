@@ -0,0 +1,167 @@
+package net.listopad.boardgame.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.deadline.RequestDeadline;
+import net.listopad.boardgame.deadline.RequestDeadlineHolder;
+import net.listopad.boardgame.exception.DeadlineExceededException;
+
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final ScheduledExecutorService canceller = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        canceller.shutdownNow();
+    }
+
+    @Test
+    void execute_WithConcurrentIdenticalCalls_ShouldLoadOnce() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> requestCoalescer.execute("findById", 1L, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "RoboRally";
+            })));
+        }
+        waitForFollowers(7);
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("RoboRally");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(requestCoalescer.coalescingRatio()).isEqualTo(7.0 / 8.0);
+    }
+
+    @Test
+    void execute_WithDifferentKeys_ShouldLoadEach() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        requestCoalescer.execute("findById", 1L, loads::incrementAndGet);
+        requestCoalescer.execute("findById", 2L, loads::incrementAndGet);
+        requestCoalescer.execute("findByKeyword", 1L, loads::incrementAndGet);
+
+        // Then
+        assertThat(loads).hasValue(3);
+        assertThat(requestCoalescer.coalescingRatio()).isZero();
+    }
+
+    @Test
+    void execute_AfterCompletion_ShouldLoadAgain() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        requestCoalescer.execute("findById", 1L, loads::incrementAndGet);
+        requestCoalescer.execute("findById", 1L, loads::incrementAndGet);
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void execute_WhenLoaderFails_ShouldPropagateAndNotCacheFailure() {
+        // When & Then
+        assertThatThrownBy(() -> requestCoalescer.execute("findById", 1L, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(requestCoalescer.<String>execute("findById", 1L, () -> "RoboRally")).isEqualTo("RoboRally");
+    }
+
+    @Test
+    void execute_WhenShortDeadlineLeaderExpires_ShouldLetLongDeadlineFollowerLoadAgain() throws Exception {
+        // Given
+        CountDownLatch followerWaiting = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Future<String> leader = executor.submit(() -> withDeadline(Duration.ofMillis(100), () ->
+            requestCoalescer.execute("findByKeyword", "catan", () -> {
+                loads.incrementAndGet();
+                await(followerWaiting);
+                while (!RequestDeadlineHolder.current().isExpired()) {
+                    Thread.onSpinWait();
+                }
+                RequestDeadlineHolder.check("findByKeyword");
+                return "leader";
+            })));
+        waitForLoads(loads, 1);
+
+        // When
+        Future<String> follower = executor.submit(() -> withDeadline(Duration.ofSeconds(5), () ->
+            requestCoalescer.execute("findByKeyword", "catan", () -> {
+                loads.incrementAndGet();
+                return "Catan";
+            })));
+        waitForFollowers(1);
+        followerWaiting.countDown();
+
+        // Then
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("Catan");
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(DeadlineExceededException.class);
+        assertThat(loads).hasValue(2);
+        assertThat(requestCoalescer.coalescingRatio()).isZero();
+    }
+
+    private <T> T withDeadline(Duration timeout, Supplier<T> action) {
+        RequestDeadlineHolder.set(new RequestDeadline(timeout, canceller, meterRegistry.counter("cancelled")));
+        try {
+            return action.get();
+        } finally {
+            RequestDeadlineHolder.clear();
+        }
+    }
+
+    private static void waitForLoads(AtomicInteger loads, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitForFollowers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("board_games.coalescing.requests").tag("role", "follower").functionCounter().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package net.listopad.boardgame.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import net.listopad.boardgame.collection.AddOutcome;
+import net.listopad.boardgame.collection.CollectionFilter;
+import net.listopad.boardgame.collection.UserCollectionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UserCollectionServiceTest {
+
+    @Mock
+    private UserCollectionRepository collectionRepository;
+
+    @InjectMocks
+    private UserCollectionService collectionService;
+
+    @Test
+    void getCollection_ShouldNormalizeKeywordAndPassFilters() {
+        // Given
+        when(collectionRepository.find(eq(7L), any())).thenReturn(List.of());
+
+        // When
+        collectionService.getCollection(7L, "  RoboRally ", 4, 60, 20);
+
+        // Then
+        verify(collectionRepository).find(7L, new CollectionFilter("roborally", 4, 60, 20));
+    }
+
+    @Test
+    void getCollection_ShouldIgnoreBlankKeyword() {
+        // When
+        collectionService.getCollection(7L, "   ", null, null, 20);
+
+        // Then
+        verify(collectionRepository).find(7L, new CollectionFilter(null, null, null, 20));
+    }
+
+    @Test
+    void getCollection_ShouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> collectionService.getCollection(7L, null, null, null, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> collectionService.getCollection(7L, null, null, null, UserCollectionService.MAX_LIMIT + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> collectionService.getCollection(7L, null, 0, null, 20))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> collectionService.getCollection(7L, null, null, 0, 20))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(collectionRepository, never()).find(anyLong(), any());
+    }
+
+    @Test
+    void addGame_ShouldReportAdded() {
+        // Given
+        when(collectionRepository.add(7L, 1L)).thenReturn(true);
+
+        // When
+        AddOutcome outcome = collectionService.addGame(7L, 1L);
+
+        // Then
+        assertThat(outcome).isEqualTo(AddOutcome.ADDED);
+        verify(collectionRepository, never()).contains(anyLong(), anyLong());
+    }
+
+    @Test
+    void addGame_ShouldDistinguishAlreadyPresentFromMissingGame() {
+        // Given
+        when(collectionRepository.add(anyLong(), anyLong())).thenReturn(false);
+        when(collectionRepository.contains(7L, 1L)).thenReturn(true);
+        when(collectionRepository.contains(7L, 999L)).thenReturn(false);
+
+        // When / Then
+        assertThat(collectionService.addGame(7L, 1L)).isEqualTo(AddOutcome.ALREADY_PRESENT);
+        assertThat(collectionService.addGame(7L, 999L)).isEqualTo(AddOutcome.GAME_NOT_FOUND);
+    }
+}
@@ -0,0 +1,130 @@
+package net.listopad.boardgame.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.SnapshotProperties;
+import net.listopad.boardgame.entity.BoardGame;
+import net.listopad.boardgame.repository.BoardGameRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotLoaderTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 2, 1, 8, 0);
+
+    @Mock
+    private BoardGameRepository boardGameRepository;
+
+    @TempDir
+    Path directory;
+
+    private SnapshotProperties properties;
+    private CatalogSnapshotLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SnapshotProperties();
+        properties.setPath(directory.resolve("catalog.snapshot"));
+        properties.setReplayOverlap(Duration.ofMinutes(1));
+        loader = new CatalogSnapshotLoader(boardGameRepository, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void loadCatalog_ShouldReadDatabaseAndWriteSnapshotWhenNoneExists() {
+        // Given
+        when(boardGameRepository.findAll()).thenReturn(List.of(game(1L, "Catan"), game(2L, "Azul")));
+
+        // When
+        Collection<BoardGame> games = loader.loadCatalog();
+
+        // Then
+        assertThat(games).hasSize(2);
+        assertThat(Files.exists(properties.getPath())).isTrue();
+    }
+
+    @Test
+    void loadCatalog_ShouldReplayChangesSinceWatermarkAndDropDeletedGames() throws IOException {
+        // Given
+        CatalogSnapshot.write(properties.getPath(), List.of(game(1L, "Catan"), game(2L, "Azul"), game(3L, "Gone")),
+            UPDATED_AT);
+        when(boardGameRepository.findByUpdatedAtGreaterThanEqual(UPDATED_AT.minusMinutes(1)))
+            .thenReturn(List.of(game(2L, "Azul: Summer Pavilion"), game(4L, "Wingspan")));
+        when(boardGameRepository.findAllIds()).thenReturn(List.of(1L, 2L, 4L));
+
+        // When
+        Collection<BoardGame> games = loader.loadCatalog();
+
+        // Then
+        assertThat(games).hasSize(3).extracting(BoardGame::getName)
+            .containsExactly("Catan", "Azul: Summer Pavilion", "Wingspan");
+        verify(boardGameRepository, never()).findAll();
+        verify(boardGameRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void loadCatalog_ShouldFetchLiveGamesMissingFromSnapshotAndReplay() throws IOException {
+        // Given
+        CatalogSnapshot.write(properties.getPath(), List.of(game(1L, "Catan")), UPDATED_AT);
+        when(boardGameRepository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of());
+        when(boardGameRepository.findAllIds()).thenReturn(List.of(1L, 5L));
+        when(boardGameRepository.findAllById(any())).thenReturn(List.of(game(5L, "Backfilled")));
+
+        // When
+        Collection<BoardGame> games = loader.loadCatalog();
+
+        // Then
+        assertThat(games).extracting(BoardGame::getId).containsExactly(1L, 5L);
+        verify(boardGameRepository).findAllById(List.of(5L));
+    }
+
+    @Test
+    void scheduledWrite_ShouldRewriteSnapshotFromPreviousSnapshotAndChanges() throws IOException {
+        // Given
+        CatalogSnapshot.write(properties.getPath(), List.of(game(1L, "Catan"), game(3L, "Gone")), UPDATED_AT);
+        BoardGame renamed = game(1L, "Catan: Seafarers");
+        renamed.setUpdatedAt(UPDATED_AT.plusHours(1));
+        when(boardGameRepository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of(renamed));
+        when(boardGameRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+        when(boardGameRepository.findAllById(any())).thenReturn(List.of(game(2L, "Azul")));
+
+        // When
+        loader.scheduledWrite();
+
+        // Then
+        CatalogSnapshot written = CatalogSnapshot.open(properties.getPath());
+        assertThat(written.watermark()).isEqualTo(UPDATED_AT.plusHours(1));
+        assertThat(written.size()).isEqualTo(2);
+        assertThat(written.get(1L).getName()).isEqualTo("Catan: Seafarers");
+        assertThat(written.get(2L).getName()).isEqualTo("Azul");
+        assertThat(written.contains(3L)).isFalse();
+        verify(boardGameRepository, never()).findAll();
+    }
+
+    private static BoardGame game(Long id, String name) {
+        BoardGame game = new BoardGame(name, "Description", 2, 4, 60);
+        game.setId(id);
+        game.setVersion(0L);
+        game.setCreatedAt(UPDATED_AT.minusDays(30));
+        game.setUpdatedAt(UPDATED_AT);
+        return game;
+    }
+}
@@ -0,0 +1,88 @@
+package net.listopad.boardgame.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.listopad.boardgame.entity.BoardGame;
+
+class CatalogSnapshotTest {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_ShouldRoundTripAllFields() throws IOException {
+        // Given
+        Path path = directory.resolve("catalog.snapshot");
+        BoardGame full = game(7L, "Wingspan – édition", "Birds", 1, 5, 70);
+        full.setImageHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+        BoardGame sparse = game(3L, "Sparse", null, null, null, null);
+        sparse.setCreatedAt(null);
+
+        // When
+        CatalogSnapshot.write(path, List.of(full, sparse), WATERMARK);
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+
+        // Then
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.watermark()).isEqualTo(WATERMARK);
+        assertThat(snapshot.get(7L)).isEqualTo(full);
+        assertThat(snapshot.get(3L)).isEqualTo(sparse);
+        assertThat(snapshot.get(5L)).isNull();
+    }
+
+    @Test
+    void forEach_ShouldVisitRecordsInIdOrder() throws IOException {
+        // Given
+        Path path = directory.resolve("catalog.snapshot");
+        List<BoardGame> games = new ArrayList<>();
+        for (long id = 100; id > 0; id--) {
+            games.add(game(id, "Game " + id, "Description " + id, 2, 4, (int) id));
+        }
+        CatalogSnapshot.write(path, games, WATERMARK);
+
+        // When
+        List<Long> ids = new ArrayList<>();
+        CatalogSnapshot.open(path).forEach(game -> ids.add(game.getId()));
+
+        // Then
+        assertThat(ids).hasSize(100).isSorted();
+    }
+
+    @Test
+    void open_ShouldRejectCorruptFile() throws IOException {
+        // Given
+        Path path = directory.resolve("catalog.snapshot");
+        CatalogSnapshot.write(path, List.of(game(1L, "Catan", "Trade", 3, 4, 90)), WATERMARK);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 0x1;
+        Files.write(path, bytes);
+
+        // When / Then
+        assertThatThrownBy(() -> CatalogSnapshot.open(path))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("checksum");
+    }
+
+    private static BoardGame game(Long id, String name, String description, Integer minPlayers, Integer maxPlayers,
+                                  Integer playTime) {
+        BoardGame game = new BoardGame(name, description, minPlayers, maxPlayers, playTime);
+        game.setId(id);
+        game.setVersion(2L);
+        game.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0));
+        game.setUpdatedAt(LocalDateTime.of(2025, 6, 1, 9, 15, 0, 500_000_000));
+        return game;
+    }
+}
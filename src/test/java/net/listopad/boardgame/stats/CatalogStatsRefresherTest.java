@@ -0,0 +1,127 @@
+package net.listopad.boardgame.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.listopad.boardgame.config.StatsProperties;
+import net.listopad.boardgame.event.BoardGameChangedEvent;
+import net.listopad.boardgame.event.BoardGameChangedEvent.ChangeType;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogStatsRefresherTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-15T10:00:00Z");
+
+    @Mock
+    private CatalogStatsRepository statsRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private CatalogStatsRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        StatsProperties properties = new StatsProperties();
+        properties.setWriteThreshold(2);
+        properties.setMinRefreshInterval(Duration.ofSeconds(30));
+        refresher = new CatalogStatsRefresher(statsRepository, properties, taskScheduler, new SimpleMeterRegistry(),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void onBoardGameChanged_ShouldScheduleOneRefreshWhenThresholdIsReached() {
+        // When
+        refresher.onBoardGameChanged(BoardGameChangedEvent.local(1L, ChangeType.CREATED));
+        refresher.onBoardGameChanged(BoardGameChangedEvent.remote(2L, ChangeType.UPDATED));
+        refresher.onBoardGameChanged(BoardGameChangedEvent.resync());
+
+        // Then
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+
+        // When
+        refresher.onBoardGameChanged(BoardGameChangedEvent.local(3L, ChangeType.DELETED));
+        refresher.onBoardGameChanged(BoardGameChangedEvent.local(4L, ChangeType.UPDATED));
+
+        // Then
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), eq(NOW));
+        assertThat(refresher.getWritesSinceRefresh()).isEqualTo(3);
+    }
+
+    @Test
+    void scheduledRefresh_ShouldResetPendingWritesAndAllowTheNextTrigger() {
+        // Given
+        when(statsRepository.refreshConcurrently()).thenReturn(true);
+        when(statsRepository.load()).thenReturn(stats());
+        refresher.onBoardGameChanged(BoardGameChangedEvent.local(1L, ChangeType.CREATED));
+        refresher.onBoardGameChanged(BoardGameChangedEvent.local(2L, ChangeType.CREATED));
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(task.capture(), eq(NOW));
+
+        // When
+        task.getValue().run();
+
+        // Then
+        assertThat(refresher.getWritesSinceRefresh()).isZero();
+        assertThat(refresher.current().totalGames()).isEqualTo(42);
+
+        // When
+        refresher.onBoardGameChanged(BoardGameChangedEvent.local(3L, ChangeType.CREATED));
+        refresher.onBoardGameChanged(BoardGameChangedEvent.local(4L, ChangeType.CREATED));
+
+        // Then - the second refresh waits out the minimum interval
+        verify(taskScheduler).schedule(any(Runnable.class), eq(NOW.plusSeconds(30)));
+    }
+
+    @Test
+    void refresh_ShouldKeepPendingWritesWhenAnotherInstanceIsRefreshing() {
+        // Given
+        when(statsRepository.refreshConcurrently()).thenReturn(false);
+        when(statsRepository.load()).thenReturn(stats());
+        refresher.onBoardGameChanged(BoardGameChangedEvent.local(1L, ChangeType.CREATED));
+
+        // When
+        CatalogStats stats = refresher.refresh();
+
+        // Then
+        assertThat(stats.totalGames()).isEqualTo(42);
+        assertThat(refresher.getWritesSinceRefresh()).isEqualTo(1);
+    }
+
+    @Test
+    void current_ShouldLoadOnceAndThenServeFromMemory() {
+        // Given
+        when(statsRepository.load()).thenReturn(stats());
+
+        // When
+        refresher.current();
+        refresher.current();
+
+        // Then
+        verify(statsRepository, times(1)).load();
+    }
+
+    private static CatalogStats stats() {
+        return new CatalogStats(42, 75.0, 15, 240, new TreeMap<>(), new TreeMap<>(), NOW.minusSeconds(60));
+    }
+}